@@ -0,0 +1,110 @@
+/*
+ * EventLoopBenchmark.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EventLoop} costs, comparable with {@link LooperBenchmark}.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventLoopBenchmark {
+
+  /** Tasks per batch. */
+  private static final int BATCH = 1024;
+
+  /** Empty task. */
+  private static final Runnable EMPTY = () -> {};
+
+  /** Event loop. */
+  private EventLoop mLoop;
+
+  /** Round-trip sequence, written by the loop. */
+  private volatile long mPong = 0L;
+
+  /** Round-trip sequence, written by the benchmark. */
+  private long mPing = 0L;
+
+  /** Round-trip task. */
+  private final Runnable mReply = () -> mPong = mPing;
+
+  /** Starts the loop thread. */
+  @Setup
+  public void setup() {
+    mLoop = new EventLoop
+      (AndroidThread.factory("bench-loop", Thread.NORM_PRIORITY, 0, false, false));
+  }
+
+  /** Stops the loop thread. */
+  @TearDown
+  public void tearDown() {mLoop.shutdown();}
+
+  /** Waits until the loop drains the batch. */
+  private void await() {
+    final long ping = ++mPing; mLoop.execute(mReply);
+    while (mPong != ping) Thread.yield();
+  }
+
+  /** Lock-free inbox path. */
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void execute() {
+    for (int i = 0; i < BATCH; i++) mLoop.execute(EMPTY);
+    await();
+  }
+
+  /** Scheduled-task path with zero delay. */
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void schedule() {
+    for (int i = 0; i < BATCH; i++) mLoop.schedule(EMPTY, 0L, TimeUnit.MILLISECONDS);
+    await();
+  }
+
+  /** @return cancelled far-future task */
+  @Benchmark
+  public boolean scheduleCancel()
+  {return mLoop.schedule(EMPTY, 1L, TimeUnit.DAYS).cancel(false);}
+
+  /** Round trip through the loop inbox. */
+  @Benchmark
+  public void roundTrip() {await();}
+}
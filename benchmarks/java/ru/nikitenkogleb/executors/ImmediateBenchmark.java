@@ -0,0 +1,74 @@
+/*
+ * ImmediateBenchmark.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ImmediateExecutor} state-word contention by 1 to 64 submitting threads.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ImmediateBenchmark {
+
+  /** Empty task. */
+  private static final Runnable EMPTY = () -> {};
+
+  /** Shared executor. */
+  private final ImmediateExecutor mExecutor = new ImmediateExecutor();
+
+  /** Single submitter. */
+  @Benchmark
+  @Threads(1)
+  public void threads1() {mExecutor.execute(EMPTY);}
+
+  /** Four submitters. */
+  @Benchmark
+  @Threads(4)
+  public void threads4() {mExecutor.execute(EMPTY);}
+
+  /** Sixteen submitters. */
+  @Benchmark
+  @Threads(16)
+  public void threads16() {mExecutor.execute(EMPTY);}
+
+  /** Sixty-four submitters. */
+  @Benchmark
+  @Threads(64)
+  public void threads64() {mExecutor.execute(EMPTY);}
+}
@@ -0,0 +1,117 @@
+/*
+ * PoolBenchmark.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IO pool submit throughput and thread-spawn overhead.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PoolBenchmark {
+
+  /** Threads of the pool. */
+  private static final int THREADS = 8;
+
+  /** Tasks per batch. */
+  private static final int BATCH = 1024;
+
+  /** Android thread factory, exempt from the {@link Lifecycle#budget(int)}. */
+  private static final ThreadFactory FACTORY =
+    AndroidThread.factory("bench-io", Thread.NORM_PRIORITY, 0, true, false);
+
+  /** Warm pool. */
+  private ExecutorService mPool;
+
+  /** Starts the warm pool. */
+  @Setup
+  public void setup() {
+    mPool = new ElasticExecutor
+      (THREADS, BATCH, 30L, TimeUnit.SECONDS, FACTORY, Rejections.callerRuns());
+  }
+
+  /**
+   * Stops the warm pool.
+   *
+   * @throws InterruptedException if interrupted
+   */
+  @TearDown
+  public void tearDown() throws InterruptedException
+  {mPool.shutdown(); mPool.awaitTermination(1L, TimeUnit.MINUTES);}
+
+  /**
+   * @param pool  target pool
+   * @param tasks count of tasks
+   *
+   * @throws InterruptedException if interrupted
+   */
+  private static void batch(ExecutorService pool, int tasks) throws InterruptedException {
+    final CountDownLatch latch = new CountDownLatch(tasks);
+    for (int i = 0; i < tasks; i++) pool.execute(latch::countDown);
+    latch.await();
+  }
+
+  /**
+   * Submit throughput of the warm pool.
+   *
+   * @throws InterruptedException if interrupted
+   */
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void submit() throws InterruptedException {batch(mPool, BATCH);}
+
+  /**
+   * Cold pool: each task of the first batch spawns a thread.
+   *
+   * @throws InterruptedException if interrupted
+   */
+  @Benchmark
+  @OperationsPerInvocation(THREADS)
+  public void spawn() throws InterruptedException {
+    final ExecutorService pool = new ElasticExecutor
+      (THREADS, BATCH, 30L, TimeUnit.SECONDS, FACTORY, Rejections.callerRuns());
+    try {batch(pool, THREADS);}
+    finally {pool.shutdown(); pool.awaitTermination(1L, TimeUnit.MINUTES);}
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * ScratchBenchmark.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Scratch} field slots versus {@link ThreadLocal} on an {@link AndroidThread}.
+ * <p>
+ * Both loops run as a single task on the same thread, so the hop cost is shared.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScratchBenchmark {
+
+  /** Accesses per task. */
+  private static final int BATCH = 1024;
+
+  /** Thread-local counterpart of {@link Scratch#BUILDER}. */
+  private static final ThreadLocal<StringBuilder> LOCAL =
+    ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+  /** Single android thread. */
+  private ExecutorService mThread;
+
+  /** Starts the android thread. */
+  @Setup
+  public void setup() {
+    mThread = Executors.newSingleThreadExecutor
+      (AndroidThread.factory("bench-scratch", Thread.NORM_PRIORITY, 0, false, false));
+  }
+
+  /** Stops the android thread. */
+  @TearDown
+  public void tearDown() {mThread.shutdownNow();}
+
+  /**
+   * @param task batch
+   *
+   * @throws Exception if batch failed
+   */
+  private void run(Runnable task) throws Exception {
+    try {mThread.submit(task).get();}
+    catch (ExecutionException exception) {
+      final Throwable cause = exception.getCause();
+      if (cause instanceof Error) throw (Error) cause; else throw (Exception) cause;
+    }
+  }
+
+  /**
+   * @param hole sink of borrowed values
+   *
+   * @throws Exception if batch failed
+   */
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void scratch(Blackhole hole) throws Exception {
+    run(() -> {
+      for (int i = 0; i < BATCH; i++) {
+        final StringBuilder builder = Scratch.BUILDER.borrow();
+        hole.consume(builder); Scratch.BUILDER.release(builder);
+      }
+    });
+  }
+
+  /**
+   * @param hole sink of borrowed values
+   *
+   * @throws Exception if batch failed
+   */
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void threadLocal(Blackhole hole) throws Exception {
+    run(() -> {
+      for (int i = 0; i < BATCH; i++) {
+        final StringBuilder builder = LOCAL.get();
+        builder.setLength(0); hole.consume(builder);
+      }
+    });
+  }
+}
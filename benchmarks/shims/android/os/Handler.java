@@ -0,0 +1,173 @@
+/*
+ * Handler.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package android.os;
+
+/**
+ * Host-side stand-in of the android {@code Handler}.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings({ "unused", "WeakerAccess", "RedundantSuppression" })
+public class Handler {
+
+  /** Message callback. */
+  public interface Callback {
+
+    /**
+     * @param msg message to handle
+     *
+     * @return true if message was handled
+     */
+    boolean handleMessage(Message msg);
+  }
+
+  /** Target looper. */
+  private final Looper mLooper;
+
+  /** Target queue. */
+  private final MessageQueue mQueue;
+
+  /** Message callback. */
+  private final Callback mCallback;
+
+  /** @param looper target looper */
+  public Handler(Looper looper) {this(looper, null);}
+
+  /**
+   * @param looper   target looper
+   * @param callback message callback
+   */
+  public Handler(Looper looper, Callback callback)
+  {mLooper = looper; mQueue = looper.getQueue(); mCallback = callback;}
+
+  /** @param msg message to handle */
+  public void handleMessage(Message msg) {}
+
+  /** @param msg message to dispatch */
+  public void dispatchMessage(Message msg) {
+    if (msg.callback != null) msg.callback.run();
+    else if (mCallback == null || !mCallback.handleMessage(msg)) handleMessage(msg);
+  }
+
+  /** @return target looper */
+  public final Looper getLooper() {return mLooper;}
+
+  /**
+   * @param what user-defined code
+   * @param obj  user-defined object
+   *
+   * @return new or pooled message of this handler
+   */
+  public final Message obtainMessage(int what, Object obj) {return Message.obtain(this, what, obj);}
+
+  /**
+   * @param r runnable callback
+   *
+   * @return false if looper quit
+   */
+  public final boolean post(Runnable r)
+  {return sendMessageAtTime(Message.obtain(this, r), SystemClock.uptimeMillis());}
+
+  /**
+   * @param r     runnable callback
+   * @param delay delay in millis
+   *
+   * @return false if looper quit
+   */
+  public final boolean postDelayed(Runnable r, long delay)
+  {return sendMessageDelayed(Message.obtain(this, r), delay);}
+
+  /**
+   * @param r      runnable callback
+   * @param uptime target time in uptime millis
+   *
+   * @return false if looper quit
+   */
+  public final boolean postAtTime(Runnable r, long uptime)
+  {return sendMessageAtTime(Message.obtain(this, r), uptime);}
+
+  /**
+   * @param r      runnable callback
+   * @param token  removal token
+   * @param uptime target time in uptime millis
+   *
+   * @return false if looper quit
+   */
+  public final boolean postAtTime(Runnable r, Object token, long uptime) {
+    final Message message = Message.obtain(this, r); message.obj = token;
+    return sendMessageAtTime(message, uptime);
+  }
+
+  /** @param r runnable callback */
+  public final void removeCallbacks(Runnable r) {mQueue.remove(this, -1, r, null);}
+
+  /**
+   * @param r     runnable callback
+   * @param token removal token or null for any
+   */
+  public final void removeCallbacks(Runnable r, Object token) {mQueue.remove(this, -1, r, token);}
+
+  /** @param what user-defined code */
+  public final void removeMessages(int what) {mQueue.remove(this, what, null, null);}
+
+  /**
+   * @param what   user-defined code
+   * @param object user-defined object or null for any
+   */
+  public final void removeMessages(int what, Object object)
+  {mQueue.remove(this, what, null, object);}
+
+  /** @param token removal token or null for all */
+  public final void removeCallbacksAndMessages(Object token)
+  {mQueue.remove(this, -1, null, token);}
+
+  /**
+   * @param msg message to send
+   *
+   * @return false if looper quit
+   */
+  public final boolean sendMessage(Message msg)
+  {return sendMessageAtTime(msg, SystemClock.uptimeMillis());}
+
+  /**
+   * @param msg   message to send
+   * @param delay delay in millis
+   *
+   * @return false if looper quit
+   */
+  public final boolean sendMessageDelayed(Message msg, long delay)
+  {return sendMessageAtTime(msg, SystemClock.uptimeMillis() + Math.max(delay, 0L));}
+
+  /**
+   * @param msg    message to send
+   * @param uptime target time in uptime millis
+   *
+   * @return false if looper quit
+   */
+  public boolean sendMessageAtTime(Message msg, long uptime)
+  {msg.target = this; return mQueue.enqueueMessage(msg, uptime);}
+}
@@ -0,0 +1,107 @@
+/*
+ * Looper.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package android.os;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Host-side stand-in of the android {@code Looper}.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings({ "unused", "WeakerAccess", "RedundantSuppression" })
+public final class Looper {
+
+  /** Loopers of threads. */
+  private static final ThreadLocal<Looper> LOOPERS = new ThreadLocal<>();
+
+  /** Main looper holder, started on first use. */
+  private static final class Main {
+    static final Looper LOOPER = start();
+  }
+
+  /** Message queue. */
+  private final MessageQueue mQueue;
+
+  /** Looper thread. */
+  private final Thread mThread = Thread.currentThread();
+
+  /** @param quitAllowed quit permission */
+  private Looper(boolean quitAllowed) {mQueue = new MessageQueue(quitAllowed);}
+
+  /** Initializes the current thread as a looper. */
+  public static void prepare() {prepare(true);}
+
+  /** @param quitAllowed quit permission */
+  private static void prepare(boolean quitAllowed) {
+    if (LOOPERS.get() != null)
+      throw new RuntimeException("Only one Looper may be created per thread");
+    LOOPERS.set(new Looper(quitAllowed));
+  }
+
+  /** @return looper of the current thread or null */
+  public static Looper myLooper() {return LOOPERS.get();}
+
+  /** @return queue of the current thread's looper */
+  public static MessageQueue myQueue() {return myLooper().mQueue;}
+
+  /** @return main looper, running on a daemon thread of the host */
+  public static Looper getMainLooper() {return Main.LOOPER;}
+
+  /** @return started main looper */
+  private static Looper start() {
+    final CompletableFuture<Looper> result = new CompletableFuture<>();
+    final Thread thread = new Thread(() -> {
+      prepare(false); result.complete(myLooper()); loop();
+    }, "main");
+    thread.setDaemon(true); thread.start(); return result.join();
+  }
+
+  /** Runs the message queue of the current thread. */
+  public static void loop() {
+    final Looper looper = myLooper();
+    if (looper == null)
+      throw new RuntimeException("No Looper; Looper.prepare() wasn't called on this thread.");
+    for (Message message; (message = looper.mQueue.next()) != null; )
+    {message.target.dispatchMessage(message); message.recycle();}
+  }
+
+  /** @return looper thread */
+  public Thread getThread() {return mThread;}
+
+  /** @return message queue */
+  public MessageQueue getQueue() {return mQueue;}
+
+  /** @return true if the current thread is the looper thread */
+  public boolean isCurrentThread() {return Thread.currentThread() == mThread;}
+
+  /** Quits without delivering pending messages. */
+  public void quit() {mQueue.quit(false);}
+
+  /** Quits after delivering due messages. */
+  public void quitSafely() {mQueue.quit(true);}
+}
@@ -0,0 +1,121 @@
+/*
+ * Message.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package android.os;
+
+/**
+ * Host-side stand-in of the android {@code Message}.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings({ "unused", "WeakerAccess", "RedundantSuppression" })
+public final class Message {
+
+  /** Maximum of pooled messages. */
+  private static final int MAX_POOL_SIZE = 50;
+
+  /** Pool lock. */
+  private static final Object POOL_LOCK = new Object();
+
+  /** Pooled messages. */
+  private static Message sPool = null;
+
+  /** Count of pooled messages. */
+  private static int sPoolSize = 0;
+
+  /** User-defined fields. */
+  public int what, arg1, arg2;
+
+  /** User-defined object. */
+  public Object obj;
+
+  /** Target time in uptime millis. */
+  long when;
+
+  /** Target handler. */
+  Handler target;
+
+  /** Runnable callback. */
+  Runnable callback;
+
+  /** Next message in queue or pool. */
+  Message next;
+
+  /** @return new or pooled message */
+  public static Message obtain() {
+    synchronized (POOL_LOCK) {
+      final Message result = sPool;
+      if (result == null) return new Message();
+      sPool = result.next; result.next = null; sPoolSize--; return result;
+    }
+  }
+
+  /**
+   * @param handler  target handler
+   * @param callback runnable callback
+   *
+   * @return new or pooled message
+   */
+  public static Message obtain(Handler handler, Runnable callback) {
+    final Message result = obtain();
+    result.target = handler; result.callback = callback; return result;
+  }
+
+  /**
+   * @param handler target handler
+   * @param what    user-defined code
+   * @param obj     user-defined object
+   *
+   * @return new or pooled message
+   */
+  public static Message obtain(Handler handler, int what, Object obj) {
+    final Message result = obtain();
+    result.target = handler; result.what = what; result.obj = obj; return result;
+  }
+
+  /** @return runnable callback */
+  public Runnable getCallback() {return callback;}
+
+  /** @return target handler */
+  public Handler getTarget() {return target;}
+
+  /** @return target time in uptime millis */
+  public long getWhen() {return when;}
+
+  /** @param async ignored on the host */
+  public void setAsynchronous(boolean async) {}
+
+  /** Sends this message to its target handler. */
+  public void sendToTarget() {target.sendMessage(this);}
+
+  /** Returns this message to the pool. */
+  public void recycle() {
+    what = arg1 = arg2 = 0; obj = null; when = 0L; target = null; callback = null;
+    synchronized (POOL_LOCK) {
+      if (sPoolSize < MAX_POOL_SIZE) {next = sPool; sPool = this; sPoolSize++;}
+    }
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * MessageQueue.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package android.os;
+
+import java.util.ArrayList;
+
+/**
+ * Host-side stand-in of the android {@code MessageQueue}.
+ * <p>
+ * A time-ordered singly linked list under the queue monitor, like the platform one.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings({ "unused", "WeakerAccess", "RedundantSuppression" })
+public final class MessageQueue {
+
+  /** Idle callback. */
+  public interface IdleHandler {
+
+    /** @return true to keep the handler active */
+    boolean queueIdle();
+  }
+
+  /** Idle handlers. */
+  private final ArrayList<IdleHandler> mIdleHandlers = new ArrayList<>();
+
+  /** Quit permission. */
+  private final boolean mQuitAllowed;
+
+  /** Head of the queue. */
+  private Message mMessages = null;
+
+  /** Quit flag. */
+  private boolean mQuitting = false;
+
+  /** @param quitAllowed quit permission */
+  MessageQueue(boolean quitAllowed) {mQuitAllowed = quitAllowed;}
+
+  /** @param handler idle handler */
+  public void addIdleHandler(IdleHandler handler) {
+    if (handler == null) throw new NullPointerException("Can't add a null IdleHandler");
+    synchronized (this) {mIdleHandlers.add(handler);}
+  }
+
+  /** @param handler idle handler */
+  public void removeIdleHandler(IdleHandler handler)
+  {synchronized (this) {mIdleHandlers.remove(handler);}}
+
+  /** @return true if no message is due */
+  public boolean isIdle() {
+    synchronized (this)
+    {return mMessages == null || SystemClock.uptimeMillis() < mMessages.when;}
+  }
+
+  /**
+   * @param message message to enqueue
+   * @param when    target time in uptime millis
+   *
+   * @return false if queue is quitting
+   */
+  boolean enqueueMessage(Message message, long when) {
+    synchronized (this) {
+      if (mQuitting) {message.recycle(); return false;}
+      message.when = when;
+      Message previous = null, current = mMessages;
+      while (current != null && current.when <= when) {previous = current; current = current.next;}
+      message.next = current;
+      if (previous == null) {mMessages = message; notifyAll();}
+      else previous.next = message;
+      return true;
+    }
+  }
+
+  /** @return next due message or null, if queue quit */
+  Message next() {
+    boolean idled = false;
+    for (; ; ) {
+      IdleHandler[] idlers = null;
+      synchronized (this) {
+        for (; ; ) {
+          final long now = SystemClock.uptimeMillis();
+          final Message message = mMessages;
+          if (message != null && message.when <= now)
+          {mMessages = message.next; message.next = null; return message;}
+          if (mQuitting) return null;
+          if (!idled && !mIdleHandlers.isEmpty())
+          {idlers = mIdleHandlers.toArray(new IdleHandler[0]); break;}
+          try {wait(message == null ? 0L : message.when - now);}
+          catch (InterruptedException exception) {/* keep looping */}
+        }
+      }
+      idled = true;
+      for (IdleHandler idler : idlers) {
+        boolean keep = false;
+        try {keep = idler.queueIdle();}
+        catch (Error error) {synchronized (this) {mIdleHandlers.remove(idler);} throw error;}
+        catch (Throwable throwable) {
+          final Thread thread = Thread.currentThread();
+          thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+        }
+        if (!keep) synchronized (this) {mIdleHandlers.remove(idler);}
+      }
+    }
+  }
+
+  /** @param safe deliver due messages before quit */
+  void quit(boolean safe) {
+    if (!mQuitAllowed) throw new IllegalStateException("Main thread not allowed to quit.");
+    synchronized (this) {
+      if (mQuitting) return; mQuitting = true;
+      if (!safe) mMessages = null;
+      else {
+        final long now = SystemClock.uptimeMillis();
+        Message previous = null, current = mMessages;
+        while (current != null && current.when <= now) {previous = current; current = current.next;}
+        if (previous == null) mMessages = null; else previous.next = null;
+      }
+      notifyAll();
+    }
+  }
+
+  /**
+   * @param handler  target handler
+   * @param what     user-defined code or -1 for any
+   * @param callback runnable callback or null for any
+   * @param token    message object or null for any
+   */
+  void remove(Handler handler, int what, Runnable callback, Object token) {
+    synchronized (this) {
+      Message previous = null, current = mMessages;
+      while (current != null) {
+        final Message next = current.next;
+        if (current.target == handler && (what < 0 || current.what == what) &&
+          (callback == null || current.callback == callback) &&
+          (token == null || current.obj == token)) {
+          if (previous == null) mMessages = next; else previous.next = next;
+          current.recycle();
+        } else previous = current;
+        current = next;
+      }
+    }
+  }
+}
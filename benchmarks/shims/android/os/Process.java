@@ -0,0 +1,81 @@
+/*
+ * Process.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package android.os;
+
+/**
+ * Host-side stand-in of the android {@code Process}.
+ * <p>
+ * Priorities are only remembered per thread, the host scheduler is left alone.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings({ "unused", "WeakerAccess", "RedundantSuppression" })
+public final class Process {
+
+  /** Thread priorities. */
+  public static final int
+    THREAD_PRIORITY_DEFAULT = 0,
+    THREAD_PRIORITY_LOWEST = 19,
+    THREAD_PRIORITY_BACKGROUND = 10,
+    THREAD_PRIORITY_FOREGROUND = -2,
+    THREAD_PRIORITY_DISPLAY = -4,
+    THREAD_PRIORITY_URGENT_DISPLAY = -8,
+    THREAD_PRIORITY_AUDIO = -16,
+    THREAD_PRIORITY_URGENT_AUDIO = -19,
+    THREAD_PRIORITY_MORE_FAVORABLE = -1,
+    THREAD_PRIORITY_LESS_FAVORABLE = +1;
+
+  /** Priorities of threads. */
+  private static final ThreadLocal<int[]> PRIORITIES = ThreadLocal.withInitial(() -> new int[1]);
+
+  /**
+   * The caller should be prevented from constructing objects of this class.
+   * Also, this prevents even the native class from calling this constructor.
+   **/
+  private Process() {throw new AssertionError();}
+
+  /** @return id of the current thread */
+  public static int myTid() {return (int) Thread.currentThread().getId();}
+
+  /**
+   * @param tid thread id
+   *
+   * @return remembered priority of the current thread, default for others
+   */
+  public static int getThreadPriority(int tid)
+  {return tid == myTid() ? PRIORITIES.get()[0] : THREAD_PRIORITY_DEFAULT;}
+
+  /** @param priority priority of the current thread */
+  public static void setThreadPriority(int priority) {PRIORITIES.get()[0] = priority;}
+
+  /**
+   * @param tid      thread id
+   * @param priority thread priority
+   */
+  public static void setThreadPriority(int tid, int priority)
+  {if (tid == myTid()) setThreadPriority(priority);}
+}
@@ -0,0 +1,94 @@
+/*
+ * Choreographer.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package android.view;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import java.util.ArrayList;
+
+/**
+ * Host-side stand-in of the android {@code Choreographer}, ticking at 60 Hz.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings({ "unused", "WeakerAccess", "RedundantSuppression" })
+public final class Choreographer {
+
+  /** Frame period in millis. */
+  private static final long FRAME = 16L;
+
+  /** Choreographers of looper threads. */
+  private static final ThreadLocal<Choreographer> INSTANCES =
+    ThreadLocal.withInitial(() -> new Choreographer(Looper.myLooper()));
+
+  /** Frame callback. */
+  public interface FrameCallback {
+
+    /** @param frameTimeNanos frame start time */
+    void doFrame(long frameTimeNanos);
+  }
+
+  /** Pending callbacks, confined to the looper thread. */
+  private final ArrayList<FrameCallback> mCallbacks = new ArrayList<>();
+
+  /** Frame dispatcher. */
+  private final Handler mHandler;
+
+  /** Frame task. */
+  private final Runnable mFrame = this::frame;
+
+  /** Frame scheduled flag. */
+  private boolean mScheduled = false;
+
+  /** @param looper looper of the current thread */
+  private Choreographer(Looper looper) {
+    if (looper == null) throw new IllegalStateException("The current thread must have a looper!");
+    mHandler = new Handler(looper);
+  }
+
+  /** @return choreographer of the current looper thread */
+  public static Choreographer getInstance() {return INSTANCES.get();}
+
+  /** @param callback frame callback */
+  public void postFrameCallback(FrameCallback callback) {
+    mCallbacks.add(callback); if (mScheduled) return; mScheduled = true;
+    final long now = SystemClock.uptimeMillis();
+    mHandler.postAtTime(mFrame, now - now % FRAME + FRAME);
+  }
+
+  /** @param callback frame callback */
+  public void removeFrameCallback(FrameCallback callback) {mCallbacks.remove(callback);}
+
+  /** Runs pending callbacks. */
+  private void frame() {
+    mScheduled = false; final long time = System.nanoTime();
+    final FrameCallback[] callbacks = mCallbacks.toArray(new FrameCallback[0]);
+    mCallbacks.clear(); for (FrameCallback callback : callbacks) callback.doFrame(time);
+  }
+}
@@ -27,8 +27,11 @@ package ru.nikitenkogleb.executors;
 
 import android.os.Process;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 
 /**
@@ -42,12 +45,30 @@ import java.util.concurrent.atomic.AtomicInteger;
 @SuppressWarnings({ "unused", "WeakerAccess", "RedundantSuppression" })
 final class AndroidThread extends Thread {
 
+  /** Android runtime flag, process priorities are left alone on other JVMs. */
+  static final boolean ANDROID = "Dalvik".equals(System.getProperty("java.vm.name"));
+
   /** Process priority */
   private final int mPriority;
 
   /** Interruption listener. */
   private volatile Runnable mHook = null;
 
+  /** Priority boost state. */
+  private final Boost mBoost = new Boost();
+
+  /** Scratch slots. */
+  private final Object[] mScratch = new Object[Scratch.SLOTS];
+
+  /** Lifecycle ticket. */
+  private Lifecycle.Ticket mTicket = null;
+
+  /** Boost states of foreign threads. */
+  private static final ThreadLocal<Boost> BOOSTS = ThreadLocal.withInitial(Boost::new);
+
+  /** Total boosted time of all threads in nanos. */
+  private static final LongAdder BOOSTED = new LongAdder();
+
   /** {@inheritDoc} */
   private AndroidThread(int priority) {
     mPriority = priority;
@@ -98,9 +119,8 @@ final class AndroidThread extends Thread {
 
   /** {@inheritDoc} */
   @Override public final void run() {
-    final int priority = Process.getThreadPriority(Process.myTid());
-    if (priority != mPriority) Process.setThreadPriority(mPriority);
-    super.run();
+    if (ANDROID) priority(mPriority);
+    try {super.run();} finally {Lifecycle.release(mTicket);}
   }
 
   /** {@inheritDoc} */
@@ -120,25 +140,195 @@ final class AndroidThread extends Thread {
    */
   static boolean hook(Runnable hook) {
     final Thread thread = Thread.currentThread();
-    final boolean result = thread instanceof AndroidThread;
-    if (result) ((AndroidThread) thread).mHook = hook; return result;
+    if (thread instanceof AndroidThread) ((AndroidThread) thread).mHook = hook;
+    else if (thread instanceof Worker) ((Worker) thread).mHook = hook;
+    else return VirtualExecutor.hook(hook); return true;
+  }
+
+  /** @param process android-process priority of the current thread */
+  private static void priority(int process) {
+    final int priority = Process.getThreadPriority(Process.myTid());
+    if (priority != process) Process.setThreadPriority(process);
+  }
+
+  /**
+   * @param process android-process priority of the current thread, ignored off android
+   */
+  static void process(int process) {if (ANDROID) Process.setThreadPriority(process);}
+
+  /** @return priority boost state of the current thread */
+  private static Boost boost() {
+    final Thread thread = Thread.currentThread();
+    if (thread instanceof AndroidThread) return ((AndroidThread) thread).mBoost;
+    else if (thread instanceof Worker) return ((Worker) thread).mBoost;
+    else return BOOSTS.get();
   }
 
+  /** @return scratch slots of the current thread or null, if it's a foreign thread */
+  static Object[] scratch() {
+    final Thread thread = Thread.currentThread();
+    if (thread instanceof AndroidThread) return ((AndroidThread) thread).mScratch;
+    else if (thread instanceof Worker) return ((Worker) thread).mScratch;
+    else return null;
+  }
+
+  /**
+   * Raises the android-process priority of the current thread until {@link #restore(int)}.
+   * Boosts may be nested, a weaker boost never lowers the priority.
+   *
+   * @param process android-process priority
+   *
+   * @return the priority to restore
+   */
+  static int boost(int process) {return boost().enter(process);}
+
+  /** @param previous the priority, returned by the matching {@link #boost(int)} */
+  static void restore(int previous) {boost().exit(previous);}
+
+  /** @return time, spent boosted by the current thread, in nanos */
+  static long boosted() {return boost().mTotal;}
+
+  /** @return time, spent boosted by all threads, in nanos */
+  static long boostedTotal() {return BOOSTED.sum();}
+
   /**
    * @param name    thread-name prefix
    * @param thread  java-thread priority
    * @param process android-process priority
    * @param multi   multi-naming
    *
+   * @return thread factory, that throws
+   * {@link java.util.concurrent.RejectedExecutionException} over the
+   * {@link Lifecycle#budget(int)}
+   */
+  static ThreadFactory factory(String name, int thread, int process, boolean multi)
+  {return factory(name, thread, process, multi, true);}
+
+  /**
+   * @param name     thread-name prefix
+   * @param thread   java-thread priority
+   * @param process  android-process priority
+   * @param multi    multi-naming
+   * @param budgeted true if threads are subject to the {@link Lifecycle#budget(int)}
+   *
    * @return thread factory
    */
-  static ThreadFactory factory(String name, int thread, int process, boolean multi) {
+  static ThreadFactory factory(String name, int thread, int process, boolean multi,
+                               boolean budgeted) {
     final SecurityManager security = System.getSecurityManager(); final ThreadGroup group =
       security != null ? security.getThreadGroup() : Thread.currentThread().getThreadGroup();
     final AtomicInteger number = new AtomicInteger(0); return runnable -> {
       final String tName = multi ? name + "-" + number.getAndIncrement() : name;
-      final Thread result = new AndroidThread(group, runnable, tName, 0, process);
+      Lifecycle.reserve(budgeted); final AndroidThread result;
+      try {result = new AndroidThread(group, runnable, tName, 0, process);}
+      catch (Throwable exception) {Lifecycle.unreserve(); throw exception;}
+      result.mTicket = Lifecycle.attach(result);
       result.setDaemon(false); result.setPriority(thread); return result;
     };
   }
-}
\ No newline at end of file
+
+  /**
+   * @param name     thread-name prefix
+   * @param thread   java-thread priority
+   * @param process  android-process priority
+   * @param budgeted true if threads are subject to the {@link Lifecycle#budget(int)}
+   *
+   * @return fork-join worker thread factory
+   */
+  static ForkJoinPool.ForkJoinWorkerThreadFactory workers(String name, int thread, int process,
+                                                          boolean budgeted) {
+    final AtomicInteger number = new AtomicInteger(0); return pool -> {
+      Lifecycle.reserve(budgeted); final Worker result;
+      try {result = new Worker(pool, process);}
+      catch (Throwable exception) {Lifecycle.unreserve(); throw exception;}
+      result.mTicket = Lifecycle.attach(result);
+      result.setName(name + "-" + number.getAndIncrement());
+      result.setPriority(thread); return result;
+    };
+  }
+
+  /**
+   * Fork-Join Worker Thread.
+   * <p>
+   * The {@link ForkJoinPool} counterpart of {@link AndroidThread}.
+   */
+  static final class Worker extends ForkJoinWorkerThread {
+
+    /** Process priority */
+    private final int mPriority;
+
+    /** Interruption listener. */
+    private volatile Runnable mHook = null;
+
+    /** Priority boost state. */
+    private final Boost mBoost = new Boost();
+
+    /** Scratch slots. */
+    private final Object[] mScratch = new Object[Scratch.SLOTS];
+
+    /** Lifecycle ticket. */
+    private Lifecycle.Ticket mTicket = null;
+
+    /** {@inheritDoc} */
+    private Worker(ForkJoinPool pool, int priority) {
+      super(pool);
+      mPriority = priority;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected final void onStart() {
+      super.onStart(); if (ANDROID) priority(mPriority);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected final void onTermination(Throwable exception) {
+      try {super.onTermination(exception);} finally {Lifecycle.release(mTicket);}
+    }
+
+    /** {@inheritDoc} */
+    @Override public final void interrupt() {
+      final Runnable hook = mHook;
+      if (hook != null) {
+        hook.run();
+        mHook = null;
+      }
+      super.interrupt();
+    }
+  }
+
+  /** Priority boost state, confined to its thread. */
+  private static final class Boost {
+
+    /** Nesting depth. */
+    private int mDepth = 0;
+
+    /** Outermost boost start time in nanos. */
+    private long mStart = 0L;
+
+    /** Total boosted time in nanos. */
+    long mTotal = 0L;
+
+    /**
+     * @param process android-process priority
+     *
+     * @return the priority to restore
+     */
+    final int enter(int process) {
+      final int result = ANDROID ?
+        Process.getThreadPriority(Process.myTid()) : Process.THREAD_PRIORITY_DEFAULT;
+      if (mDepth++ == 0) mStart = System.nanoTime();
+      if (ANDROID && process < result) Process.setThreadPriority(process);
+      return result;
+    }
+
+    /** @param previous the priority to restore */
+    final void exit(int previous) {
+      if (mDepth == 0) throw new IllegalStateException("Not boosted");
+      if (ANDROID) Process.setThreadPriority(previous);
+      if (--mDepth == 0) {
+        final long time = System.nanoTime() - mStart;
+        mTotal += time; BOOSTED.add(time);
+      }
+    }
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * CoalescingExecutor.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import android.view.Choreographer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Coalescing front-end of {@link LooperExecutor}.
+ * <p>
+ * Submitted runnables are accumulated in a lock-free queue and drained by a single looper
+ * message (or a {@link Choreographer} frame callback) within a per-drain time budget.
+ * Whatever doesn't fit into the budget is left for the next drain.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings("NullableProblems")
+final class CoalescingExecutor
+  extends AbstractExecutorService
+  implements Runnable, Choreographer.FrameCallback {
+
+  /** Drain states. */
+  private static final int
+    IDLE = 0,
+    SCHEDULED = 1;
+
+  /** Drain state updater. */
+  private static final
+  AtomicIntegerFieldUpdater<CoalescingExecutor> STATE_UPDATER =
+    AtomicIntegerFieldUpdater.newUpdater(CoalescingExecutor.class, "mState");
+
+  /** Pending tasks. */
+  private final ConcurrentLinkedQueue<Runnable> mQueue = new ConcurrentLinkedQueue<>();
+
+  /** Target looper executor. */
+  private final LooperExecutor mLooper;
+
+  /** Drain budget in nanos. */
+  private final long mBudget;
+
+  /** Frame-aligned mode. */
+  private final boolean mFrames;
+
+  /** Looper's choreographer, obtained by the first drain in frame-aligned mode. */
+  private volatile Choreographer mChoreographer = null;
+
+  /** Drain state. */
+  private volatile int mState = IDLE;
+
+  /** Shutdown flag. */
+  private volatile boolean mShutdown = false;
+
+  /**
+   * Constructs a new {@link CoalescingExecutor}.
+   *
+   * @param looper target looper executor
+   * @param budget per-drain time budget in nanos, non-positive for unlimited
+   * @param frames align drains to choreographer frames
+   */
+  CoalescingExecutor(LooperExecutor looper, long budget, boolean frames) {
+    mLooper = looper; mBudget = budget > 0L ? budget : Long.MAX_VALUE; mFrames = frames;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void execute(Runnable command) {
+    if (command == null) throw new NullPointerException();
+    if (mShutdown) throw new RejectedExecutionException("Executor already shutdown");
+    mQueue.offer(command); schedule();
+  }
+
+  /** Schedules a drain, if it isn't scheduled yet. */
+  private void schedule() {
+    if (!STATE_UPDATER.compareAndSet(this, IDLE, SCHEDULED)) return;
+    final Choreographer choreographer = mChoreographer;
+    if (choreographer != null) choreographer.postFrameCallback(this);
+    else mLooper.execute(this);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void run() {
+    if (mFrames && mChoreographer == null)
+      mChoreographer = Choreographer.getInstance();
+    drain();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void doFrame(long frame) {drain();}
+
+  /** Runs pending tasks until the queue is empty or the budget is exhausted. */
+  private void drain() {
+    final long start = System.nanoTime();
+    try {
+      Runnable task;
+      while ((task = mQueue.poll()) != null) {
+        try {task.run();}
+        catch (Throwable throwable) {mLooper.failed(throwable);}
+        if (System.nanoTime() - start >= mBudget) break;
+      }
+    } finally {
+      STATE_UPDATER.set(this, IDLE);
+      if (!mQueue.isEmpty()) schedule();
+      else if (mShutdown) signal();
+    }
+  }
+
+  /** Wakes up termination waiters. */
+  private void signal() {
+    synchronized (mQueue) {mQueue.notifyAll();}
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void shutdown() {
+    mShutdown = true;
+    if (isTerminated()) signal();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final List<Runnable> shutdownNow() {
+    shutdown();
+    final List<Runnable> result = new ArrayList<>();
+    Runnable task; while ((task = mQueue.poll()) != null) result.add(task);
+    return result;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isShutdown() {return mShutdown;}
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isTerminated() {
+    return mShutdown && mState == IDLE && mQueue.isEmpty();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean awaitTermination(long time, TimeUnit unit) throws InterruptedException {
+    long nanos = unit.toNanos(time);
+    synchronized (mQueue) {
+      while (true) {
+        if (isTerminated()) return true;
+        else if (nanos <= 0) {return false;}
+        else {
+          final long now = System.nanoTime();
+          TimeUnit.NANOSECONDS.timedWait(mQueue, nanos);
+          nanos -= System.nanoTime() - now;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * ComputePool.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Work-stealing pool for cpu-bound tasks.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+final class ComputePool extends ForkJoinPool implements Metered {
+
+  /**
+   * Constructs a new {@link ComputePool}.
+   *
+   * @param parallelism target parallelism level
+   * @param factory     worker thread factory
+   */
+  ComputePool(int parallelism, ForkJoinWorkerThreadFactory factory)
+  {super(parallelism, factory, null, false);}
+
+  /** {@inheritDoc} */
+  @Override
+  public final void counters(ObjLongConsumer<String> sink) {
+    sink.accept("threads.pool", getPoolSize());
+    sink.accept("threads.active", getActiveThreadCount());
+    sink.accept("threads.running", getRunningThreadCount());
+    sink.accept("queue.depth", getQueuedTaskCount());
+    sink.accept("queue.submissions", getQueuedSubmissionCount());
+    sink.accept("tasks.steals", getStealCount());
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Deadline.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task deadline.
+ * <p>
+ * The current deadline of a thread is carried with every task, submitted from it to an
+ * executor from {@link ExecutorServices#deadlined}, and is inherited by nested submissions.
+ * Such a task is skipped if its deadline has expired before start, and interrupted
+ * (that fires {@link ExecutorServices#threadHook} listeners) once it expires while running.
+ *
+ * <pre>{@code
+ * Deadline.run(Deadline.after(5, SECONDS), () -> io.execute(this::load));
+ * }</pre>
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings("unused")
+public final class Deadline {
+
+  /** Current deadline of the thread. */
+  private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+  /** Expiration time in {@link System#nanoTime()} base. */
+  private final long mTime;
+
+  /**
+   * Constructs a new {@link Deadline}.
+   *
+   * @param time expiration time
+   */
+  private Deadline(long time) {mTime = time;}
+
+  /**
+   * @param time timeout
+   * @param unit time unit
+   *
+   * @return deadline, that expires after the given timeout, huge timeouts are clamped
+   */
+  public static Deadline after(long time, TimeUnit unit) {
+    final long now = System.nanoTime(), nanos = unit.toNanos(Math.max(time, 0L));
+    return new Deadline(nanos >= Long.MAX_VALUE >> 1 ? now + (Long.MAX_VALUE >> 1) : now + nanos);
+  }
+
+  /** @return the current deadline of the thread or null */
+  public static Deadline current() {return CURRENT.get();}
+
+  /** @return true if deadline has expired */
+  public final boolean expired() {return mTime - System.nanoTime() <= 0L;}
+
+  /**
+   * @param unit time unit
+   *
+   * @return time left until expiration, negative if already expired
+   */
+  public final long remaining(TimeUnit unit)
+  {return unit.convert(mTime - System.nanoTime(), TimeUnit.NANOSECONDS);}
+
+  /**
+   * @param other another deadline or null
+   *
+   * @return the earlier of two deadlines
+   */
+  final Deadline min(Deadline other)
+  {return other == null || mTime - other.mTime <= 0L ? this : other;}
+
+  /**
+   * @param deadline deadline, bounded by the current one
+   * @param task     task to call
+   * @param <T>      type of result
+   *
+   * @return result of task
+   *
+   * @throws Exception if the task has failed
+   */
+  public static <T> T call(Deadline deadline, Callable<T> task) throws Exception {
+    final Deadline previous = swap(deadline.min(CURRENT.get()));
+    try {return task.call();} finally {swap(previous);}
+  }
+
+  /**
+   * @param deadline deadline, bounded by the current one
+   * @param task     task to run
+   */
+  public static void run(Deadline deadline, Runnable task) {
+    final Deadline previous = swap(deadline.min(CURRENT.get()));
+    try {task.run();} finally {swap(previous);}
+  }
+
+  /**
+   * @param deadline new current deadline or null
+   *
+   * @return previous current deadline
+   */
+  static Deadline swap(Deadline deadline) {
+    final Deadline result = CURRENT.get();
+    if (deadline != null) CURRENT.set(deadline); else CURRENT.remove();
+    return result;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final String toString() {
+    return "Deadline{" + remaining(TimeUnit.MILLISECONDS) + " ms}";
+  }
+}
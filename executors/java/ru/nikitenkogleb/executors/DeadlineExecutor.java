@@ -0,0 +1,178 @@
+/*
+ * DeadlineExecutor.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * {@link Deadline}-propagating {@link ExecutorService} decorator.
+ * <p>
+ * Interrupts are delivered off the timer thread, since they fire the thread's hooks, and only
+ * to pool threads: a task, that runs on its submitting thread (e.g. by a caller-runs policy),
+ * is never interrupted.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings("NullableProblems")
+final class DeadlineExecutor extends AbstractExecutorService implements Metered {
+
+  /** Source executor. */
+  private final ExecutorService mDelegate;
+
+  /** Interruption timer. */
+  private final ScheduledExecutorService mTimer;
+
+  /** Interruption dispatcher. */
+  private final Executor mAlarms;
+
+  /** Counters. */
+  private final LongAdder
+    mSkipped = new LongAdder(),
+    mInterrupted = new LongAdder();
+
+  /**
+   * Constructs a new {@link DeadlineExecutor}.
+   *
+   * @param delegate source executor
+   * @param timer    interruption timer
+   * @param alarms   interruption dispatcher, that runs the hooks of interrupted threads
+   */
+  DeadlineExecutor(ExecutorService delegate, ScheduledExecutorService timer, Executor alarms)
+  {mDelegate = delegate; mTimer = timer; mAlarms = alarms;}
+
+  /** {@inheritDoc} */
+  @Override
+  public final void execute(Runnable command) {
+    if (command == null) throw new NullPointerException();
+    final Deadline deadline = Deadline.current();
+    if (deadline == null) {mDelegate.execute(command); return;}
+    final Bound bound = new Bound(command, deadline);
+    try {mDelegate.execute(bound);} finally {bound.mSubmitted = true;}
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void shutdown() {mDelegate.shutdown();}
+
+  /** {@inheritDoc} */
+  @Override
+  public final List<Runnable> shutdownNow() {return mDelegate.shutdownNow();}
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isShutdown() {return mDelegate.isShutdown();}
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isTerminated() {return mDelegate.isTerminated();}
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean awaitTermination(long time, TimeUnit unit) throws InterruptedException
+  {return mDelegate.awaitTermination(time, unit);}
+
+  /** {@inheritDoc} */
+  @Override
+  public final void counters(ObjLongConsumer<String> sink) {
+    sink.accept("tasks.skipped", mSkipped.sum());
+    sink.accept("tasks.interrupted", mInterrupted.sum());
+    if (mDelegate instanceof Metered) ((Metered) mDelegate).counters(sink);
+  }
+
+  /** Task with deadline. */
+  private final class Bound extends AtomicInteger implements Runnable {
+
+    /** States. */
+    private static final int RUNNING = 0, DONE = 1, INTERRUPTING = 2;
+
+    /** Source task. */
+    private final Runnable mTask;
+
+    /** Task deadline. */
+    private final Deadline mDeadline;
+
+    /** Submitting thread. */
+    private final Thread mCaller = Thread.currentThread();
+
+    /** Submission completed flag, the task runs inline on its caller until then. */
+    volatile boolean mSubmitted = false;
+
+    /** Running thread. */
+    private volatile Thread mThread = null;
+
+    /**
+     * Constructs a new {@link Bound}.
+     *
+     * @param task     source task
+     * @param deadline task deadline
+     */
+    Bound(Runnable task, Deadline deadline) {mTask = task; mDeadline = deadline;}
+
+    /** {@inheritDoc} */
+    @Override
+    public final void run() {
+      if (mDeadline.expired()) {
+        mSkipped.increment();
+        if (mTask instanceof Future) ((Future<?>) mTask).cancel(false);
+        return;
+      }
+      final Deadline previous = Deadline.swap(mDeadline);
+      final Thread thread = Thread.currentThread();
+      if (thread == mCaller && !mSubmitted)
+      {try {mTask.run();} finally {Deadline.swap(previous);} return;}
+      mThread = thread;
+      final Future<?> alarm = mTimer.schedule
+        (this::alarm, mDeadline.remaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+      try {mTask.run();} finally {
+        Deadline.swap(previous); alarm.cancel(false);
+        if (!compareAndSet(RUNNING, DONE)) {
+          while (get() == INTERRUPTING) Thread.yield();
+          Thread.interrupted();
+        }
+      }
+    }
+
+    /** Dispatches the interruption off the timer thread. */
+    private void alarm() {if (get() == RUNNING) mAlarms.execute(this::interrupt);}
+
+    /** Interrupts the running task, if it's still running. */
+    private void interrupt() {
+      if (!compareAndSet(RUNNING, INTERRUPTING)) return;
+      try {mThread.interrupt(); mInterrupted.increment();}
+      finally {set(DONE);}
+    }
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * DeferredExecutor.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * {@link ExecutorService}, that is being created in background.
+ * <p>
+ * Submissions are queued lock-free until the delegate is ready, then forwarded in order.
+ * Once the queue is drained, submissions go straight to the delegate.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings("NullableProblems")
+final class DeferredExecutor extends AbstractExecutorService implements Metered {
+
+  /** Submissions, that came before the delegate was ready. */
+  private final ConcurrentLinkedQueue<Runnable> mQueue = new ConcurrentLinkedQueue<>();
+
+  /** Drain work-in-progress counter. */
+  private final AtomicInteger mDrain = new AtomicInteger();
+
+  /** Pending delegate. */
+  private final CompletableFuture<? extends ExecutorService> mFuture;
+
+  /** Ready delegate. */
+  private volatile ExecutorService mDelegate = null;
+
+  /** Direct mode flag. */
+  private volatile boolean mDirect = false;
+
+  /** Shutdown flag. */
+  private volatile boolean mShutdown = false;
+
+  /**
+   * Constructs a new {@link DeferredExecutor}.
+   *
+   * @param future pending delegate
+   */
+  DeferredExecutor(CompletableFuture<? extends ExecutorService> future)
+  {(mFuture = future).thenAccept(this::ready);}
+
+  /** @param delegate ready delegate */
+  private void ready(ExecutorService delegate) {
+    mDelegate = delegate; drain();
+    if (mShutdown) delegate.shutdown();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void execute(Runnable command) {
+    if (command == null) throw new NullPointerException();
+    if (mDirect && mDrain.get() == 0) {mDelegate.execute(command); return;}
+    if (mShutdown) throw new RejectedExecutionException("Executor already shutdown");
+    mQueue.offer(command); if (mDelegate != null) drain();
+  }
+
+  /**
+   * Forwards queued submissions to the delegate.
+   * <p>
+   * Direct mode is entered only after the queue is handed off, and submissions bypass the
+   * queue only while no drain is running, so a submitter never overtakes its own earlier
+   * queued submission.
+   */
+  private void drain() {
+    if (mDrain.getAndIncrement() != 0) return;
+    final ExecutorService delegate = mDelegate;
+    do {
+      Runnable command;
+      while ((command = mQueue.poll()) != null) delegate.execute(command);
+    } while (mDrain.decrementAndGet() != 0);
+    if (!mDirect) mDirect = true;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void shutdown() {
+    mShutdown = true;
+    final ExecutorService delegate = mDelegate;
+    if (delegate != null) delegate.shutdown();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final List<Runnable> shutdownNow() {
+    mShutdown = true;
+    final List<Runnable> result = new ArrayList<>();
+    Runnable command; while ((command = mQueue.poll()) != null) result.add(command);
+    final ExecutorService delegate = mDelegate;
+    if (delegate != null) result.addAll(delegate.shutdownNow());
+    return result;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isShutdown() {return mShutdown;}
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isTerminated() {
+    final ExecutorService delegate = mDelegate;
+    return delegate != null && delegate.isTerminated();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean awaitTermination(long time, TimeUnit unit) throws InterruptedException {
+    final long deadline = System.nanoTime() + unit.toNanos(time);
+    final ExecutorService delegate;
+    try {delegate = mFuture.get(time, unit);}
+    catch (ExecutionException exception) {return false;}
+    catch (TimeoutException exception) {return false;}
+    return delegate.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void counters(ObjLongConsumer<String> sink) {
+    sink.accept("queue.deferred", mQueue.size());
+    final ExecutorService delegate = mDelegate;
+    if (delegate instanceof Metered) ((Metered) delegate).counters(sink);
+  }
+}
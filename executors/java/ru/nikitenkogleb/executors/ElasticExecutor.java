@@ -0,0 +1,84 @@
+/*
+ * ElasticExecutor.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Bounded elastic thread pool.
+ * <p>
+ * Grows up to the ceiling before it starts queueing, lets idle threads time out and
+ * hands the overflow of its bounded queue to a pluggable {@link RejectedExecutionHandler}.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+final class ElasticExecutor extends ThreadPoolExecutor implements Metered {
+
+  /** Rejections counter. */
+  private final LongAdder mRejected;
+
+  /**
+   * Constructs a new {@link ElasticExecutor}.
+   *
+   * @param threads maximum number of threads
+   * @param queue   queue capacity
+   * @param time    keep-alive time
+   * @param unit    keep-alive time unit
+   * @param factory thread factory
+   * @param policy  saturation policy
+   */
+  ElasticExecutor(int threads, int queue, long time, TimeUnit unit,
+                  ThreadFactory factory, RejectedExecutionHandler policy) {
+    this(threads, queue, time, unit, factory, policy, new LongAdder());
+  }
+
+  /** {@inheritDoc} */
+  private ElasticExecutor(int threads, int queue, long time, TimeUnit unit,
+                          ThreadFactory factory, RejectedExecutionHandler policy,
+                          LongAdder rejected) {
+    super(threads, threads, time, unit, new ArrayBlockingQueue<>(queue), factory,
+      (runnable, executor) -> {rejected.increment(); policy.rejectedExecution(runnable, executor);});
+    mRejected = rejected; allowCoreThreadTimeOut(true);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void counters(ObjLongConsumer<String> sink) {
+    sink.accept("threads.active", getActiveCount());
+    sink.accept("threads.pool", getPoolSize());
+    sink.accept("threads.largest", getLargestPoolSize());
+    sink.accept("queue.depth", getQueue().size());
+    sink.accept("tasks.completed", getCompletedTaskCount());
+    sink.accept("tasks.rejected", mRejected.sum());
+  }
+}
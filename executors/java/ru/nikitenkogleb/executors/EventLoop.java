@@ -0,0 +1,424 @@
+/*
+ * EventLoop.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Pure-java single-threaded event loop, the host-side counterpart of {@link LooperExecutor}.
+ * <p>
+ * Submissions go through a lock-free inbox, delayed tasks wait in a heap, confined to the
+ * loop thread, and the thread parks until the next task is due. Idle callbacks run once per
+ * idle period, like {@code MessageQueue.IdleHandler}'s. {@link #shutdown()} has
+ * {@code Looper.quitSafely()} semantics: due tasks are delivered, future ones are cancelled.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings("NullableProblems")
+final class EventLoop extends AbstractExecutorService
+  implements ScheduledExecutorService, Metered {
+
+  /** Inbox tasks between timer checks. */
+  private static final int BATCH = 64;
+
+  /** Stale timers, that trigger a purge of the heap. */
+  private static final int PURGE = 64;
+
+  /** States. */
+  private static final int
+    RUNNING = 0,
+    QUITTING = 1,
+    STOPPED = 2,
+    TERMINATED = 3;
+
+  /** Submitted tasks. */
+  private final ConcurrentLinkedQueue<Runnable> mInbox = new ConcurrentLinkedQueue<>();
+
+  /** Delayed tasks, confined to the loop thread. */
+  private final PriorityQueue<Timed<?>> mTimers = new PriorityQueue<>();
+
+  /** Idle callbacks. */
+  private final CopyOnWriteArrayList<BooleanSupplier> mIdlers = new CopyOnWriteArrayList<>();
+
+  /** Termination signal. */
+  private final CountDownLatch mTerminated = new CountDownLatch(1);
+
+  /** Cancelled tasks, that may still be in the heap. */
+  private final AtomicInteger mStale = new AtomicInteger();
+
+  /** Counters. */
+  private final LongAdder
+    mScheduled = new LongAdder(),
+    mCancelled = new LongAdder();
+
+  /** Loop thread. */
+  private final Thread mThread;
+
+  /** Loop state. */
+  private volatile int mState = RUNNING;
+
+  /** Parked flag of the loop thread. */
+  private volatile boolean mWaiting = false;
+
+  /** Insertion order of timers, confined to the loop thread. */
+  private long mSequence = 0L;
+
+  /**
+   * Constructs a new {@link EventLoop}.
+   *
+   * @param factory loop thread factory
+   */
+  EventLoop(ThreadFactory factory) {
+    (mThread = factory.newThread(this::loop)).start();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final <T> RunnableFuture<T> newTaskFor(Callable<T> call)
+  {return new Timed<>(call, System.nanoTime(), 0L);}
+
+  /** {@inheritDoc} */
+  @Override
+  protected final <T> RunnableFuture<T> newTaskFor(Runnable run, T val)
+  {return new Timed<>(Executors.callable(run, val), System.nanoTime(), 0L);}
+
+  /** {@inheritDoc} */
+  @Override
+  public final void execute(Runnable command) {
+    if (command == null) throw new NullPointerException();
+    if (mState != RUNNING) throw new RejectedExecutionException("Event loop was shut down");
+    mInbox.offer(command);
+    if (mState == TERMINATED && mInbox.remove(command))
+      throw new RejectedExecutionException("Event loop was shut down");
+    if (mWaiting) LockSupport.unpark(mThread);
+  }
+
+  /**
+   * @param delay relative delay
+   * @param unit  time unit
+   *
+   * @return absolute trigger time in {@link System#nanoTime()} base
+   */
+  private static long triggerTime(long delay, TimeUnit unit) {
+    final long now = System.nanoTime(), nanos = unit.toNanos(Math.max(delay, 0L));
+    return nanos >= Long.MAX_VALUE >> 1 ? now + (Long.MAX_VALUE >> 1) : now + nanos;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+    if (command == null) throw new NullPointerException();
+    final Timed<Object> result =
+      new Timed<>(Executors.callable(command), triggerTime(delay, unit), 0L);
+    execute(result); return result;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+    if (callable == null) throw new NullPointerException();
+    final Timed<V> result = new Timed<>(callable, triggerTime(delay, unit), 0L);
+    execute(result); return result;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final ScheduledFuture<?> scheduleAtFixedRate
+  (Runnable command, long initial, long period, TimeUnit unit) {
+    if (period <= 0L) throw new IllegalArgumentException("period <= 0");
+    final Timed<Void> result = new Timed<>
+      (Executors.callable(command, null), triggerTime(initial, unit), unit.toNanos(period));
+    execute(result); return result;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final ScheduledFuture<?> scheduleWithFixedDelay
+  (Runnable command, long initial, long delay, TimeUnit unit) {
+    if (delay <= 0L) throw new IllegalArgumentException("delay <= 0");
+    final Timed<Void> result = new Timed<>
+      (Executors.callable(command, null), triggerTime(initial, unit), -unit.toNanos(delay));
+    execute(result); return result;
+  }
+
+  /**
+   * Adds an idle callback, that runs on the loop thread, when no task is due.
+   *
+   * @param idler returns true to stay registered
+   */
+  final void idle(BooleanSupplier idler) {mIdlers.add(idler);}
+
+  /** @return true if the current thread is the loop thread */
+  final boolean isLoopThread() {return Thread.currentThread() == mThread;}
+
+  /** Unparks the loop thread. */
+  private void wake() {LockSupport.unpark(mThread);}
+
+  /** Runs the loop. */
+  private void loop() {
+    boolean idled = false;
+    try {
+      while (mState < STOPPED) {
+        int ran = 0;
+        for (Runnable task; ran < BATCH && (task = mInbox.poll()) != null; ran++) dispatch(task);
+        final long now = System.nanoTime();
+        for (Timed<?> timer; (timer = mTimers.peek()) != null && timer.mTime - now <= 0L; ) {
+          mTimers.poll(); if (timer.isCancelled()) continue;
+          timer.run(); ran++;
+        }
+        final int stale = mStale.get();
+        if (stale > PURGE && stale > mTimers.size() >> 1)
+        {mTimers.removeIf(Timed::isCancelled); mStale.addAndGet(-stale);}
+        if (ran != 0) {idled = false; continue;}
+        if (mState != RUNNING) break;
+        if (!idled) {idled = true; if (!mIdlers.isEmpty()) {idlers(); continue;}}
+        park();
+      }
+    } finally {
+      mState = TERMINATED;
+      try {for (Runnable task; (task = mInbox.poll()) != null; ) dispatch(task);}
+      finally {
+        try {
+          for (Timed<?> timer; (timer = mTimers.poll()) != null; ) timer.cancel(false);
+          for (Runnable task; (task = mInbox.poll()) != null; )
+            if (task instanceof Future) ((Future<?>) task).cancel(false);
+        } finally {mTerminated.countDown();}
+      }
+    }
+  }
+
+  /** Parks the loop thread until the next timer or submission. */
+  private void park() {
+    mWaiting = true;
+    try {
+      if (!mInbox.isEmpty() || mState != RUNNING) return;
+      final Timed<?> next = mTimers.peek();
+      if (next == null) LockSupport.park(this);
+      else LockSupport.parkNanos(this, next.mTime - System.nanoTime());
+      if (mState == RUNNING) Thread.interrupted();
+    } finally {mWaiting = false;}
+  }
+
+  /** @param task submitted task */
+  private void dispatch(Runnable task) {
+    if (task instanceof Timed) {
+      final Timed<?> timer = (Timed<?>) task;
+      if (timer.mTime - System.nanoTime() <= 0L) timer.run();
+      else if (mState == TERMINATED) timer.cancel(false); else arm(timer);
+    } else try {task.run();} catch (Throwable throwable) {failed(throwable);}
+  }
+
+  /** @param timer delayed task */
+  private void arm(Timed<?> timer) {
+    if (timer.isCancelled()) return;
+    timer.mSequence = mSequence++; mTimers.add(timer);
+  }
+
+  /** Runs idle callbacks. */
+  private void idlers() {
+    for (BooleanSupplier idler : mIdlers) {
+      boolean keep = false;
+      try {keep = idler.getAsBoolean();}
+      catch (Throwable throwable) {failed(throwable);}
+      if (!keep) mIdlers.remove(idler);
+    }
+  }
+
+  /** @param throwable uncaught task failure, errors are rethrown */
+  static void failed(Throwable throwable)
+  {if (throwable instanceof Error) throw (Error) throwable;}
+
+  /** {@inheritDoc} */
+  @Override
+  public final void shutdown() {
+    synchronized (this) {if (mState == RUNNING) mState = QUITTING;}
+    wake();
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Delayed tasks are cancelled by the loop thread, so only submitted ones are returned.
+   */
+  @Override
+  public final List<Runnable> shutdownNow() {
+    synchronized (this) {if (mState < STOPPED) mState = STOPPED;}
+    final List<Runnable> result = new ArrayList<>();
+    for (Runnable task; (task = mInbox.poll()) != null; ) result.add(task);
+    mThread.interrupt(); return result;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isShutdown() {return mState != RUNNING;}
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isTerminated() {return mTerminated.getCount() == 0L;}
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean awaitTermination(long time, TimeUnit unit) throws InterruptedException
+  {return mTerminated.await(time, unit);}
+
+  /** @return executor, that runs tasks inline on the loop thread */
+  final Executor hop() {
+    return command -> {
+      if (Thread.currentThread() == mThread) command.run();
+      else execute(command);
+    };
+  }
+
+  /**
+   * @param stage source stage
+   * @param <T>   type of result
+   *
+   * @return stage, whose async continuations are bound to this loop
+   */
+  final <T> LooperStage<T> stage(CompletionStage<T> stage)
+  {return new LooperStage<>(stage.toCompletableFuture(), hop());}
+
+  /** {@inheritDoc} */
+  @Override
+  public final void counters(ObjLongConsumer<String> sink) {
+    sink.accept("tasks.scheduled", mScheduled.sum());
+    sink.accept("tasks.cancelled", mCancelled.sum());
+  }
+
+  /** Resets the counters, e.g. after warm-up. */
+  final void reset() {mScheduled.reset(); mCancelled.reset();}
+
+  /**
+   * Delayed or periodic task.
+   * <p>
+   * Periodic tasks re-arm themselves on the loop thread, fixed-rate ones keep the absolute
+   * baseline and coalesce ticks, missed while the loop was busy, into a single run.
+   *
+   * @param <T> type of result
+   */
+  private final class Timed<T> extends FutureTask<T> implements RunnableScheduledFuture<T> {
+
+    /** Execution time in {@link System#nanoTime()} base. */
+    long mTime;
+
+    /** Insertion order, confined to the loop thread. */
+    long mSequence = 0L;
+
+    /** Started flag. */
+    private volatile boolean mStarted = false;
+
+    /** Period in nanos: positive for fixed rate, negative for fixed delay, zero for once. */
+    private final long mPeriod;
+
+    /**
+     * Constructs a new {@link Timed}.
+     *
+     * @param call   callable task
+     * @param time   absolute trigger time
+     * @param period repeat period
+     */
+    Timed(Callable<T> call, long time, long period)
+    {super(call); mTime = time; mPeriod = period; mScheduled.increment();}
+
+    /** {@inheritDoc} */
+    @Override
+    public final boolean isPeriodic() {return mPeriod != 0L;}
+
+    /** {@inheritDoc} */
+    @Override
+    public final long getDelay(TimeUnit unit)
+    {return unit.convert(mTime - System.nanoTime(), TimeUnit.NANOSECONDS);}
+
+    /** {@inheritDoc} */
+    @Override
+    public final int compareTo(Delayed other) {
+      if (other == this) return 0;
+      if (other instanceof Timed) {
+        final Timed<?> timed = (Timed<?>) other; final long diff = mTime - timed.mTime;
+        return diff != 0L ? (diff < 0L ? -1 : 1) : Long.compare(mSequence, timed.mSequence);
+      }
+      final long diff = getDelay(TimeUnit.NANOSECONDS) - other.getDelay(TimeUnit.NANOSECONDS);
+      return (diff < 0) ? -1 : (diff > 0) ? 1 : 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void run() {
+      if (!mStarted) mStarted = true;
+      if (!isPeriodic()) super.run();
+      else if (!runAndReset()) return;
+      else if (mState != RUNNING) cancel(false);
+      else {
+        final long now = System.nanoTime();
+        if (mPeriod > 0L) {
+          long next = mTime + mPeriod;
+          if (next - now < 0L) next += (now - next + mPeriod - 1L) / mPeriod * mPeriod;
+          mTime = next;
+        } else mTime = now - mPeriod;
+        arm(this);
+      }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final boolean cancel(boolean interrupt) {
+      final boolean result = super.cancel(interrupt);
+      if (result && !mStarted) {mCancelled.increment(); mStale.incrementAndGet();}
+      return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void setException(Throwable throwable)
+    {super.setException(throwable); failed(throwable);}
+  }
+}
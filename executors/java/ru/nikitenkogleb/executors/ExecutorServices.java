@@ -27,18 +27,31 @@ package ru.nikitenkogleb.executors;
 
 import android.os.Looper;
 import android.os.Process;
+import android.os.Trace;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
+ * On non-android runtimes the looper-based executors run on pure-java {@link EventLoop}'s,
+ * main included, while frame-driven ones are unsupported.
+ *
  * @author Gleb Nikitenko
  * @since 20.03.19
  */
@@ -49,40 +62,401 @@ public final class ExecutorServices {
     MAIN_NAME = prefix("main"),
     WORK_NAME = prefix("work"),
     SCHE_NAME = prefix("sche"),
+    COMP_NAME = prefix("comp"),
+    VIRT_NAME = prefix("virt"),
+    TIME_NAME = prefix("time"),
     ELAS_NAME = prefix("elas");
 
   /** Thread Priorities. */
   private static final int
     IO_THREAD = Thread.NORM_PRIORITY, WORK_THREAD = Thread.NORM_PRIORITY,
+    COMP_THREAD = Thread.NORM_PRIORITY, COMP_PROCESS = Process.THREAD_PRIORITY_DEFAULT,
+    MAIN_PROCESS = Process.THREAD_PRIORITY_DEFAULT,
     IO_PROCESS = Process.THREAD_PRIORITY_DEFAULT + Process.THREAD_PRIORITY_LESS_FAVORABLE,
     WORK_PROCESS = Process.THREAD_PRIORITY_DEFAULT + Process.THREAD_PRIORITY_LESS_FAVORABLE;
 
+  /** Warm-up rounds of dedicated loopers. */
+  private static final int WARM_ROUNDS = 256;
+
+  /** IO pool defaults. */
+  private static final int
+    IO_THREADS = Math.max(8, Runtime.getRuntime().availableProcessors() * 4),
+    IO_QUEUE = 128;
+
+  /** Maximum time, a saturated default io pool blocks a non-main submitter, in seconds. */
+  private static final long IO_BLOCK = 5L;
+
+  /** Main event loop off android, null until it's first used. */
+  private static volatile EventLoop sMainLoop = null;
+
   /** Thread Factories. */
   private static final ThreadFactory
     SCHE_FACTORY = AndroidThread.factory(SCHE_NAME, IO_THREAD, IO_PROCESS, true),
     ELAS_FACTORY = AndroidThread.factory(ELAS_NAME, IO_THREAD, IO_PROCESS, true),
     WORK_FACTORY = AndroidThread.factory(WORK_NAME, WORK_THREAD, WORK_PROCESS, false);
 
-  /** Looper's. */
-  private static final Looper
-    MAIN_LOOPER = setLooperName(Looper.getMainLooper(), MAIN_NAME),
-    WORK_LOOPER = setLooperName(newLooper(WORK_FACTORY), WORK_NAME);
+  /** Thread Factories of the shared executors, exempt from the {@link Lifecycle#budget(int)}. */
+  private static final ThreadFactory
+    SHARED_SCHE_FACTORY =
+      AndroidThread.factory(SCHE_NAME, IO_THREAD, IO_PROCESS, true, false),
+    SHARED_WORK_FACTORY =
+      AndroidThread.factory(WORK_NAME, WORK_THREAD, WORK_PROCESS, false, false),
+    SHARED_MAIN_FACTORY =
+      AndroidThread.factory(MAIN_NAME, WORK_THREAD, MAIN_PROCESS, false, false);
+
+  /** Fork-Join Factories. */
+  private static final ForkJoinPool.ForkJoinWorkerThreadFactory
+    COMP_FACTORY = AndroidThread.workers(COMP_NAME, COMP_THREAD, COMP_PROCESS, true),
+    SHARED_COMP_FACTORY = AndroidThread.workers(COMP_NAME, COMP_THREAD, COMP_PROCESS, false);
 
-  /** Executor services. */
-  /*public static final ExecutorService
-    MAIN_EXECUTOR = new LooperExecutor(MAIN_LOOPER),
-    WORK_EXECUTOR = new LooperExecutor(WORK_LOOPER),
-    IMME_EXECUTOR = new ImmediateExecutor(),
-    SCHE_EXECUTOR = createIO(SCHE_FACTORY, true),
-    ELAS_EXECUTOR = createIO(SCHE_FACTORY, false)*/;
+  /** Virtual thread factory holder. */
+  private static final class Virtual {
+    static final ThreadFactory FACTORY = VirtualExecutor.factory(VIRT_NAME);
+  }
+
+  /** Main looper holder. */
+  private static final class MainLooper {
+    static final Looper LOOPER = setLooperName(Looper.getMainLooper(), MAIN_NAME);
+  }
+
+  /** Shared main executor holder. */
+  private static final class Main {
+    static final ScheduledExecutorService LOOPER = AndroidThread.ANDROID ?
+      new LooperExecutor(MainLooper.LOOPER) : (sMainLoop = new EventLoop(SHARED_MAIN_FACTORY));
+    static final ScheduledExecutorService EXECUTOR = new SharedExecutor.Scheduled(LOOPER);
+  }
+
+  /** Shared work executor holder. */
+  private static final class Work {
+    static final ScheduledExecutorService LOOPER = AndroidThread.ANDROID ?
+      new LooperExecutor(WorkStart.LOOPER.join()) : new EventLoop(SHARED_WORK_FACTORY);
+    static final ScheduledExecutorService EXECUTOR = new SharedExecutor.Scheduled(LOOPER);
+  }
+
+  /** Shared work looper start holder. */
+  private static final class WorkStart {
+    static final CompletableFuture<Looper> LOOPER =
+      startLooper(SHARED_WORK_FACTORY, WORK_NAME);
+  }
+
+  /** Shared io executor holder. */
+  private static final class IO {
+    static final ThreadPoolExecutor POOL =
+      (ThreadPoolExecutor) createIO(SHARED_SCHE_FACTORY, false);
+    static final ExecutorService EXECUTOR = new SharedExecutor(POOL);
+  }
+
+  /** Shared deadline timer holder, expirations run on the compute pool, off the ticker. */
+  private static final class Timer {
+    static final ScheduledExecutorService EXECUTOR =
+      createTimer(Compute.EXECUTOR, TimeUnit.MILLISECONDS.toNanos(10L), 512, false);
+  }
+
+  /** Shared compute executor holder. */
+  private static final class Compute {
+    static final ExecutorService
+      EXECUTOR = new SharedExecutor(createCompute(SHARED_COMP_FACTORY));
+  }
+
+  /** @return main executor, off android - the shared view of the main event loop */
+  public static final ExecutorService main() {
+    return AndroidThread.ANDROID ?
+      Lifecycle.track(new LooperExecutor(MainLooper.LOOPER)) : Main.EXECUTOR;
+  }
+
+  /**
+   * @param budget per-drain time budget, non-positive for unlimited
+   * @param unit   budget time unit
+   * @param frames align drains to choreographer frames
+   *
+   * @return main-thread executor, that coalesces submitted tasks into single looper messages
+   *
+   * @throws UnsupportedOperationException off android
+   */
+  public static ExecutorService coalesced(long budget, TimeUnit unit, boolean frames) {
+    requireAndroid(); return Lifecycle.track(new CoalescingExecutor
+      (new LooperExecutor(MainLooper.LOOPER), unit.toNanos(budget), frames));
+  }
+
+  /** @throws UnsupportedOperationException off android */
+  private static void requireAndroid() {
+    if (!AndroidThread.ANDROID)
+      throw new UnsupportedOperationException("Requires android looper");
+  }
+
+  /**
+   * Creates a dedicated looper thread with the given android-process priority.
+   * <p>
+   * The thread is started, its looper prepared, and the dispatch paths of the executor
+   * are exercised before return, so the first real message doesn't pay for any of it.
+   * Android has no public sched-affinity api, so the thread is scheduled wherever the
+   * priority (e.g. {@link Process#THREAD_PRIORITY_URGENT_AUDIO}) lands it.
+   *
+   * @param name    the name of thread
+   * @param process android-process priority
+   *
+   * @return warmed-up looper executor
+   */
+  public static ScheduledExecutorService looper(String name, int process) {
+    final String tName = prefix(name);
+    final ThreadFactory factory = AndroidThread.factory(tName, WORK_THREAD, process, false);
+    final ScheduledExecutorService result = AndroidThread.ANDROID ?
+      new LooperExecutor(setLooperName(newLooper(factory), tName)) : new EventLoop(factory);
+    warm(result, WARM_ROUNDS); return Lifecycle.track(result);
+  }
+
+  /**
+   * Counters of the executor are reset afterwards, so warm-up tasks aren't reported.
+   *
+   * @param executor looper executor
+   * @param rounds   rounds of warm-up
+   */
+  private static void warm(ScheduledExecutorService executor, int rounds) {
+    final Runnable empty = () -> {};
+    for (int i = 0; i < rounds; i++) {
+      executor.execute(empty);
+      executor.schedule(empty, 1L, TimeUnit.DAYS).cancel(false);
+    }
+    try {executor.submit(empty).get();}
+    catch (InterruptedException exception) {Thread.currentThread().interrupt();}
+    catch (ExecutionException exception) {throw new IllegalStateException(exception);}
+    if (executor instanceof LooperExecutor) ((LooperExecutor) executor).reset();
+    else if (executor instanceof EventLoop) ((EventLoop) executor).reset();
+  }
 
-  public static final ExecutorService main() { return new LooperExecutor(MAIN_LOOPER); }
+  /**
+   * @param stage source stage, e.g. a {@link CompletableFuture} completed on io
+   * @param <T>   type of result
+   *
+   * @return stage, whose async continuations without explicit executor run on main thread
+   */
+  public static <T> LooperStage<T> onMain(CompletionStage<T> stage) {
+    return AndroidThread.ANDROID ?
+      ((LooperExecutor) Main.LOOPER).stage(stage) : ((EventLoop) Main.LOOPER).stage(stage);
+  }
 
+  /** @return work looper executor, that accepts tasks while its thread is still starting */
   public static final ExecutorService work() {
-    return new LooperExecutor(setLooperName(newLooper(WORK_FACTORY), WORK_NAME));
+    return Lifecycle.track(!AndroidThread.ANDROID ? new EventLoop(WORK_FACTORY) :
+      new DeferredExecutor(startLooper(WORK_FACTORY, WORK_NAME).thenApply(LooperExecutor::new)));
+  }
+
+  /**
+   * Starts the shared work looper and the first thread of the shared io pool in background.
+   * <p>
+   * Meant for {@code Application.onCreate()}: the caller pays only for a single thread start,
+   * everything else happens on the work looper, before the shared executors are first used.
+   */
+  public static void prestart() {
+    if (!AndroidThread.ANDROID) {Work.LOOPER.execute(() -> IO.POOL.prestartCoreThread()); return;}
+    Trace.beginSection("ExecutorServices.prestart");
+    try {WorkStart.LOOPER.thenRun(() -> IO.POOL.prestartCoreThread());}
+    finally {Trace.endSection();}
+  }
+
+  /**
+   * @return bounded elastic io executor, that blocks non-main submitters for a while,
+   * once saturated, and rejects main-thread ones, see {@link Rejections#backpressure}
+   */
+  public static final ExecutorService io()
+  { return Lifecycle.track(createIO(SCHE_FACTORY, false)); }
+
+  /**
+   * @return executor for blocking tasks, that runs each task on a new virtual thread,
+   * if the runtime supports them, otherwise - the bounded elastic io executor
+   */
+  public static ExecutorService blocking() {
+    final ThreadFactory factory = Virtual.FACTORY;
+    return Lifecycle.track
+      (factory != null ? new VirtualExecutor(factory) : createIO(SCHE_FACTORY, false));
+  }
+
+  /**
+   * @param budget   per-idle-slice time budget
+   * @param deadline maximum wait time, before a task is run regardless of idleness
+   * @param unit     time unit
+   *
+   * @return executor, that runs tasks when the main looper is idle
+   */
+  public static ExecutorService idleMain(long budget, long deadline, TimeUnit unit)
+  {return Lifecycle.track(idle(Main.LOOPER, unit.toNanos(budget), unit.toNanos(deadline)));}
+
+  /**
+   * @param budget   per-idle-slice time budget
+   * @param deadline maximum wait time, before a task is run regardless of idleness
+   * @param unit     time unit
+   *
+   * @return executor, that runs tasks when the shared work looper is idle
+   */
+  public static ExecutorService idleWork(long budget, long deadline, TimeUnit unit)
+  {return Lifecycle.track(idle(Work.LOOPER, unit.toNanos(budget), unit.toNanos(deadline)));}
+
+  /**
+   * @param looper   shared looper or event loop
+   * @param budget   per-idle-slice time budget in nanos
+   * @param deadline maximum wait time in nanos
+   *
+   * @return executor, that runs tasks when the looper is idle
+   */
+  private static ExecutorService idle(ScheduledExecutorService looper,
+                                      long budget, long deadline) {
+    return AndroidThread.ANDROID ? IdleExecutor.of((LooperExecutor) looper, budget, deadline) :
+      IdleExecutor.of((EventLoop) looper, budget, deadline);
+  }
+
+  /**
+   * @param target dispatch executor of expired tasks
+   * @param tick   tick duration, i.e. the timer resolution
+   * @param unit   tick time unit
+   * @param wheel  count of wheel buckets
+   *
+   * @return hashed timing-wheel scheduler with O(1) schedule and cancel
+   */
+  public static ScheduledExecutorService timer(Executor target, long tick,
+                                               TimeUnit unit, int wheel) {
+    return Lifecycle.track(createTimer(target, unit.toNanos(tick), wheel, true));
+  }
+
+  /**
+   * @param target dispatch executor of expired tasks
+   * @param tick   tick duration in nanos
+   * @param wheel    count of wheel buckets
+   * @param budgeted true if the ticker is subject to the {@link Lifecycle#budget(int)}
+   *
+   * @return hashed timing-wheel scheduler
+   */
+  private static ScheduledExecutorService createTimer(Executor target, long tick, int wheel,
+                                                      boolean budgeted) {
+    return new TimerWheel(target, tick, wheel,
+      AndroidThread.factory(TIME_NAME, WORK_THREAD, WORK_PROCESS, false, budgeted));
   }
 
-  public static final ExecutorService io() { return createIO(SCHE_FACTORY, false); }
+  /**
+   * @param executor source executor
+   *
+   * @return executor, that carries the current {@link Deadline} with submitted tasks
+   */
+  public static ExecutorService deadlined(ExecutorService executor)
+  {return Lifecycle.track(new DeadlineExecutor(executor, Timer.EXECUTOR, Compute.EXECUTOR));}
+
+  /**
+   * @param pool shared pool, e.g. {@link #sharedIO()}
+   *
+   * @return serial executor, that runs tasks in order, one at a time, on the pool
+   */
+  public static Executor serial(Executor pool) {return new SerialExecutor(pool);}
+
+  /**
+   * @param pool shared pool, e.g. {@link #sharedIO()}
+   * @param <K>  type of keys
+   *
+   * @return keyed serial executors over the pool
+   */
+  public static <K> Strands<K> strands(Executor pool) {return new Strands<>(pool);}
+
+  /**
+   * Admitted tasks, rejected by the shut down source executor, are cancelled, if they are
+   * futures, otherwise logged and counted, unless thrown to the submitter.
+   *
+   * @param executor source executor, e.g. {@link #sharedIO()}
+   * @param throttle admission strategy, see {@link Throttle}
+   *
+   * @return executor, that queues tasks beyond the limit without blocking the caller
+   */
+  public static ExecutorService throttled(ExecutorService executor, Throttle throttle)
+  {return throttled(executor, throttle, ThrottledExecutor::dropped);}
+
+  /**
+   * @param executor source executor, e.g. {@link #sharedIO()}
+   * @param throttle admission strategy, see {@link Throttle}
+   * @param rejected handler of admitted tasks, rejected by the source executor
+   *
+   * @return executor, that queues tasks beyond the limit without blocking the caller
+   */
+  public static ExecutorService throttled(ExecutorService executor, Throttle throttle,
+                                          Consumer<? super Runnable> rejected) {
+    return Lifecycle.track
+      (new ThrottledExecutor(executor, throttle, Timer.EXECUTOR, rejected));
+  }
+
+  /**
+   * @param executor  shared executor, e.g. {@link #sharedIO()}
+   * @param throttles throttle factory, called once per key
+   * @param <K>       type of keys
+   *
+   * @return keyed throttled executors, e.g. per-host limits
+   */
+  public static <K> Throttles<K> throttles(ExecutorService executor,
+                                           Supplier<Throttle> throttles)
+  {return throttles(executor, throttles, ThrottledExecutor::dropped);}
+
+  /**
+   * @param executor  shared executor, e.g. {@link #sharedIO()}
+   * @param throttles throttle factory, called once per key
+   * @param rejected  handler of admitted tasks, rejected by the shared executor
+   * @param <K>       type of keys
+   *
+   * @return keyed throttled executors, e.g. per-host limits
+   */
+  public static <K> Throttles<K> throttles(ExecutorService executor,
+                                           Supplier<Throttle> throttles,
+                                           Consumer<? super Runnable> rejected)
+  {return new Throttles<>(executor, throttles, Timer.EXECUTOR, rejected);}
+
+  /** @return priority-aware io executor */
+  public static PriorityExecutor prioritized()
+  {return prioritized(IO_THREADS, 500L, TimeUnit.MILLISECONDS);}
+
+  /**
+   * @param threads maximum number of threads
+   * @param aging   time, after which a waiting task is promoted by one level
+   * @param unit    aging time unit
+   *
+   * @return priority-aware io executor
+   */
+  public static PriorityExecutor prioritized(int threads, long aging, TimeUnit unit)
+  {return Lifecycle.track
+    (new PriorityExecutor(threads, unit.toNanos(aging), SCHE_FACTORY, IO_PROCESS));}
+
+  /** @return work-stealing executor for cpu-bound tasks, sized to available cores */
+  public static ForkJoinPool compute() {return Lifecycle.track(createCompute(COMP_FACTORY));}
+
+  /**
+   * @param factory worker thread factory
+   *
+   * @return work-stealing pool, sized to available cores
+   */
+  private static ForkJoinPool createCompute(ForkJoinPool.ForkJoinWorkerThreadFactory factory) {
+    return new ComputePool(Runtime.getRuntime().availableProcessors(), factory);
+  }
+
+  /** @return process-wide shared main executor, that ignores shutdown */
+  public static ScheduledExecutorService sharedMain() {return Main.EXECUTOR;}
+
+  /** @return process-wide shared work executor, that ignores shutdown */
+  public static ScheduledExecutorService sharedWork() {return Work.EXECUTOR;}
+
+  /** @return process-wide shared io executor, that ignores shutdown */
+  public static ExecutorService sharedIO() {return IO.EXECUTOR;}
+
+  /** @return process-wide shared compute executor, that ignores shutdown */
+  public static ExecutorService sharedCompute() {return Compute.EXECUTOR;}
+
+  /**
+   * @param threads maximum number of threads
+   * @param queue   queue capacity
+   * @param policy  saturation policy, see {@link Rejections}
+   *
+   * @return bounded elastic io executor
+   */
+  public static ExecutorService io(int threads, int queue, RejectedExecutionHandler policy)
+  {return Lifecycle.track(createIO(SCHE_FACTORY, threads, queue, policy));}
+
+  /** @return true if the current thread is the main one, off android - the main event loop */
+  static boolean isMainThread() {
+    if (AndroidThread.ANDROID) return Looper.myLooper() == Looper.getMainLooper();
+    final EventLoop loop = sMainLoop; return loop != null && loop.isLoopThread();
+  }
 
   /**
    * @param name the name of thread
@@ -100,14 +474,31 @@ public final class ExecutorServices {
    */
   @SuppressWarnings("SameParameterValue")
   private static Looper newLooper(ThreadFactory factory) {
+    return startLooper(factory, null).join();
+  }
+
+  /**
+   * @param factory thread factory
+   * @param name    the name of thread or null to keep the factory's one
+   *
+   * @return pending looper, being prepared on the new thread
+   *
+   * @throws RejectedExecutionException if the thread budget is exceeded
+   */
+  private static CompletableFuture<Looper> startLooper(ThreadFactory factory, String name) {
     return new CompletableFuture<Looper>() {{
-      factory.newThread(() -> {
+      final Thread thread = factory.newThread(() -> {
+          Trace.beginSection("ExecutorServices.startLooper");
           Looper.prepare();
-          complete(Looper.myLooper());
+          final Looper looper = Looper.myLooper();
+          if (name != null) setLooperName(looper, name);
+          Trace.endSection();
+          complete(looper);
           Looper.loop();
         }
-      ).start();
-    }}.join();
+      );
+      thread.start();
+    }};
   }
 
   /**
@@ -127,15 +518,55 @@ public final class ExecutorServices {
    */
   @SuppressWarnings("SameParameterValue")
   private static ExecutorService createIO(ThreadFactory factory, boolean scheduled) {
+    if (!scheduled) return createIO(factory, IO_THREADS, IO_QUEUE,
+      Rejections.backpressure(IO_BLOCK, SECONDS));
     final int core = 0; final long time = 30L; final TimeUnit unit = SECONDS;
-    final ThreadPoolExecutor result = !scheduled ? new ThreadPoolExecutor(core,
-      Integer.MAX_VALUE, time, unit, new LinkedBlockingQueue<>(1/*28*/), factory) :
-      new ScheduledThreadPoolExecutor(core + 4, factory);
+    final ThreadPoolExecutor result = new ScheduledThreadPoolExecutor(core + 4, factory);
     result.allowCoreThreadTimeOut(false);
     result.setKeepAliveTime(time, unit);
     return result;
   }
 
+  /**
+   * @param factory thread factory
+   * @param threads maximum number of threads
+   * @param queue   queue capacity
+   * @param policy  saturation policy
+   *
+   * @return bounded elastic executor service
+   */
+  private static ExecutorService createIO(ThreadFactory factory, int threads, int queue,
+                                          RejectedExecutionHandler policy) {
+    return new ElasticExecutor(threads, queue, 30L, SECONDS, factory, policy);
+  }
+
+  /**
+   * @param executor source executor
+   * @param budget   run-time budget, e.g. 16 ms on main
+   * @param unit     budget time unit
+   * @param stacks   capture submitting stacks of tasks
+   * @param slow     consumer of tasks, that exceeded the budget
+   *
+   * @return executor, that records queue latency, run time and queue depth of its tasks
+   */
+  public static ExecutorService instrumented(ExecutorService executor, long budget,
+                                             TimeUnit unit, boolean stacks,
+                                             Consumer<Throwable> slow) {
+    return Lifecycle.track
+      (new InstrumentedExecutor(executor, unit.toNanos(budget), stacks, slow));
+  }
+
+  /**
+   * @param executor source executor
+   * @param sink     counters consumer (name, value)
+   *
+   * @return true if executor exposes live counters, otherwise - false
+   */
+  public static boolean counters(Executor executor, ObjLongConsumer<String> sink) {
+    final boolean result = executor instanceof Metered;
+    if (result) ((Metered) executor).counters(sink); return result;
+  }
+
   /**
    * @param hook interrupt threadHook
    *
@@ -143,4 +574,32 @@ public final class ExecutorServices {
    */
   public static boolean threadHook(Runnable hook)
   {return AndroidThread.hook(hook);}
+
+  /**
+   * Raises the android-process priority of the current thread until {@link #restore(int)}.
+   * Boosts may be nested, a weaker boost never lowers the priority.
+   *
+   * <pre>{@code
+   * final int previous = ExecutorServices.boost(Process.THREAD_PRIORITY_DEFAULT);
+   * try {load();} finally {ExecutorServices.restore(previous);}
+   * }</pre>
+   *
+   * @param process android-process priority
+   *
+   * @return the priority to restore
+   */
+  public static int boost(int process)
+  {return AndroidThread.boost(process);}
+
+  /** @param previous the priority, returned by the matching {@link #boost(int)} */
+  public static void restore(int previous)
+  {AndroidThread.restore(previous);}
+
+  /** @return time, spent boosted by the current thread, in nanos */
+  public static long boosted()
+  {return AndroidThread.boosted();}
+
+  /** @return time, spent boosted by all threads, in nanos */
+  public static long boostedTotal()
+  {return AndroidThread.boostedTotal();}
 }
@@ -0,0 +1,152 @@
+/*
+ * Histogram.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Lock-free log-linear histogram of non-negative values.
+ * <p>
+ * Every power of two is split into {@link #SUB} linear sub-buckets,
+ * so any recorded value is reported with a relative error below 12.5%.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings("unused")
+public final class Histogram {
+
+  /** Sub-bucket bits. */
+  private static final int SUB_BITS = 3;
+
+  /** Sub-buckets per power of two. */
+  private static final int SUB = 1 << SUB_BITS;
+
+  /** Buckets count. */
+  private static final int SIZE = (Long.SIZE - SUB_BITS) * SUB;
+
+  /** Bucket counts. */
+  private final AtomicLongArray mCounts = new AtomicLongArray(SIZE);
+
+  /** Maximum recorded value. */
+  private final AtomicLong mMax = new AtomicLong();
+
+  /** Constructs a new {@link Histogram}. */
+  Histogram() {}
+
+  /** @param value value to record, negative values are recorded as zero */
+  public final void record(long value) {
+    if (value < 0L) value = 0L;
+    mCounts.incrementAndGet(index(value));
+    long max; while ((max = mMax.get()) < value && !mMax.compareAndSet(max, value));
+  }
+
+  /**
+   * @param value non-negative value
+   *
+   * @return bucket index
+   */
+  private static int index(long value) {
+    if (value < SUB) return (int) value;
+    final int magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+    return (magnitude - SUB_BITS + 1) * SUB + (int) ((value >>> (magnitude - SUB_BITS)) - SUB);
+  }
+
+  /**
+   * @param index bucket index
+   *
+   * @return the highest value of bucket
+   */
+  private static long highest(int index) {
+    if (index < SUB) return index;
+    final int magnitude = index / SUB + SUB_BITS - 1, shift = magnitude - SUB_BITS;
+    return ((long) (SUB + index % SUB) << shift) + (1L << shift) - 1L;
+  }
+
+  /** @return point-in-time copy */
+  public final Snapshot snapshot() {
+    final long[] counts = new long[SIZE]; long count = 0L;
+    for (int i = 0; i < SIZE; i++) count += counts[i] = mCounts.get(i);
+    return new Snapshot(counts, count, mMax.get());
+  }
+
+  /** Point-in-time copy of {@link Histogram}. */
+  public static final class Snapshot {
+
+    /** Bucket counts. */
+    private final long[] mCounts;
+
+    /** Total count. */
+    public final long count;
+
+    /** Maximum value. */
+    public final long max;
+
+    /**
+     * Constructs a new {@link Snapshot}.
+     *
+     * @param counts bucket counts
+     * @param count  total count
+     * @param max    maximum value
+     */
+    Snapshot(long[] counts, long count, long max)
+    {mCounts = counts; this.count = count; this.max = max;}
+
+    /**
+     * @param quantile quantile in range [0, 1]
+     *
+     * @return value at the given quantile
+     */
+    public final long value(double quantile) {
+      if (count == 0L) return 0L;
+      final long rank = Math.max(1L, (long) Math.ceil(quantile * count)); long seen = 0L;
+      for (int i = 0; i < mCounts.length; i++)
+        if ((seen += mCounts[i]) >= rank) return Math.min(highest(i), max);
+      return max;
+    }
+
+    /**
+     * @param name counters prefix
+     * @param sink counters consumer (name, value)
+     */
+    public final void counters(String name, ObjLongConsumer<String> sink) {
+      sink.accept(name + ".count", count);
+      sink.accept(name + ".p50", value(0.50));
+      sink.accept(name + ".p90", value(0.90));
+      sink.accept(name + ".p99", value(0.99));
+      sink.accept(name + ".max", max);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final String toString() {
+      return "count=" + count + ", p50=" + value(0.50) + ", p90=" + value(0.90) +
+        ", p99=" + value(0.99) + ", max=" + max;
+    }
+  }
+}
@@ -0,0 +1,266 @@
+/*
+ * IdleExecutor.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Idle-time front-end of {@link LooperExecutor} or {@link EventLoop}.
+ * <p>
+ * Tasks run only when the loop goes idle (see {@code MessageQueue.IdleHandler} and
+ * {@link EventLoop#idle}), within a per-idle-slice
+ * time budget. Whatever doesn't fit into the slice waits for the next idle time, unless it has
+ * waited longer than the deadline: such tasks are promoted to regular looper messages.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings("NullableProblems")
+final class IdleExecutor extends AbstractExecutorService implements Metered {
+
+  /** Empty message, that triggers the next idle pass. */
+  private static final Runnable WAKE = () -> {};
+
+  /** Registration states. */
+  private static final int
+    UNREGISTERED = 0,
+    REGISTERED = 1;
+
+  /** Registration state updater. */
+  private static final
+  AtomicIntegerFieldUpdater<IdleExecutor> STATE_UPDATER =
+    AtomicIntegerFieldUpdater.newUpdater(IdleExecutor.class, "mState");
+
+  /** Promotion states updater. */
+  private static final
+  AtomicIntegerFieldUpdater<IdleExecutor> PROMOTION_UPDATER =
+    AtomicIntegerFieldUpdater.newUpdater(IdleExecutor.class, "mPromotion");
+
+  /** Pending tasks. */
+  private final ConcurrentLinkedQueue<Entry> mQueue = new ConcurrentLinkedQueue<>();
+
+  /** Target looper executor. */
+  private final ScheduledExecutorService mLooper;
+
+  /** Idle callback registration of the looper. */
+  private final Consumer<BooleanSupplier> mRegister;
+
+  /** Uncaught task failures handler of the looper. */
+  private final Consumer<Throwable> mFailed;
+
+  /** Idle callback. */
+  private final BooleanSupplier mIdler = this::queueIdle;
+
+  /** Idle slice budget and deadline in nanos. */
+  private final long mBudget, mDeadline;
+
+  /** Promotion task. */
+  private final Runnable mPromote = this::promote;
+
+  /** Counters. */
+  private final LongAdder
+    mSubmitted = new LongAdder(),
+    mExecuted = new LongAdder(),
+    mPromoted = new LongAdder(),
+    mDeferred = new LongAdder();
+
+  /** Registration state. */
+  private volatile int mState = UNREGISTERED;
+
+  /** Promotion state. */
+  private volatile int mPromotion = UNREGISTERED;
+
+  /** Shutdown flag. */
+  private volatile boolean mShutdown = false;
+
+  /**
+   * Constructs a new {@link IdleExecutor}.
+   *
+   * @param looper   target looper executor
+   * @param register idle callback registration, the callback returns true to stay registered
+   * @param failed   uncaught task failures handler
+   * @param budget   per-idle-slice time budget in nanos
+   * @param deadline maximum wait time in nanos, before a task is promoted
+   */
+  IdleExecutor(ScheduledExecutorService looper, Consumer<BooleanSupplier> register,
+               Consumer<Throwable> failed, long budget, long deadline) {
+    mLooper = looper; mRegister = register; mFailed = failed;
+    mBudget = Math.max(budget, 0L); mDeadline = Math.max(deadline, 0L);
+  }
+
+  /**
+   * @param looper   target looper executor
+   * @param budget   per-idle-slice time budget in nanos
+   * @param deadline maximum wait time in nanos, before a task is promoted
+   *
+   * @return idle executor over the looper's message queue
+   */
+  static IdleExecutor of(LooperExecutor looper, long budget, long deadline) {
+    return new IdleExecutor(looper, idler -> looper.queue().addIdleHandler(idler::getAsBoolean),
+      looper::failed, budget, deadline);
+  }
+
+  /**
+   * @param loop     target event loop
+   * @param budget   per-idle-slice time budget in nanos
+   * @param deadline maximum wait time in nanos, before a task is promoted
+   *
+   * @return idle executor over the event loop's idle callbacks
+   */
+  static IdleExecutor of(EventLoop loop, long budget, long deadline)
+  {return new IdleExecutor(loop, loop::idle, EventLoop::failed, budget, deadline);}
+
+  /** {@inheritDoc} */
+  @Override
+  public final void execute(Runnable command) {
+    if (command == null) throw new NullPointerException();
+    if (mShutdown) throw new RejectedExecutionException("Executor already shutdown");
+    mQueue.offer(new Entry(command, System.nanoTime())); mSubmitted.increment();
+    if (STATE_UPDATER.compareAndSet(this, UNREGISTERED, REGISTERED)) {
+      mRegister.accept(mIdler);
+      mLooper.execute(WAKE);
+    }
+    if (PROMOTION_UPDATER.compareAndSet(this, UNREGISTERED, REGISTERED))
+      mLooper.schedule(mPromote, mDeadline, TimeUnit.NANOSECONDS);
+  }
+
+  /** @return true to stay registered, runs on the looper thread */
+  private boolean queueIdle() {
+    final long start = System.nanoTime(); Entry entry;
+    while ((entry = mQueue.poll()) != null) {
+      run(entry); mExecuted.increment();
+      if (System.nanoTime() - start >= mBudget) break;
+    }
+    if (!mQueue.isEmpty()) {mDeferred.increment(); mLooper.execute(WAKE); return true;}
+    STATE_UPDATER.set(this, UNREGISTERED);
+    if (!mQueue.isEmpty() && STATE_UPDATER.compareAndSet(this, UNREGISTERED, REGISTERED))
+    {mLooper.execute(WAKE); return true;}
+    if (mShutdown) signal(); return false;
+  }
+
+  /** Runs overdue tasks as regular looper messages. */
+  private void promote() {
+    final long now = System.nanoTime(); Entry entry;
+    while ((entry = mQueue.peek()) != null && now - entry.mTime >= mDeadline)
+      if (mQueue.remove(entry)) {run(entry); mPromoted.increment();}
+    PROMOTION_UPDATER.set(this, UNREGISTERED);
+    if ((entry = mQueue.peek()) != null &&
+      PROMOTION_UPDATER.compareAndSet(this, UNREGISTERED, REGISTERED))
+      mLooper.schedule(mPromote, mDeadline - (now - entry.mTime), TimeUnit.NANOSECONDS);
+    if (mShutdown && mQueue.isEmpty()) signal();
+  }
+
+  /** @param entry task to run */
+  private void run(Entry entry) {
+    try {entry.mTask.run();}
+    catch (Throwable throwable) {mFailed.accept(throwable);}
+  }
+
+  /** Wakes up termination waiters. */
+  private void signal() {
+    synchronized (mQueue) {mQueue.notifyAll();}
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void shutdown() {
+    mShutdown = true;
+    if (isTerminated()) signal();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final List<Runnable> shutdownNow() {
+    shutdown();
+    final List<Runnable> result = new ArrayList<>();
+    Entry entry; while ((entry = mQueue.poll()) != null) result.add(entry.mTask);
+    return result;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isShutdown() {return mShutdown;}
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isTerminated() {return mShutdown && mQueue.isEmpty();}
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean awaitTermination(long time, TimeUnit unit) throws InterruptedException {
+    long nanos = unit.toNanos(time);
+    synchronized (mQueue) {
+      while (true) {
+        if (isTerminated()) return true;
+        else if (nanos <= 0) {return false;}
+        else {
+          final long now = System.nanoTime();
+          TimeUnit.NANOSECONDS.timedWait(mQueue, nanos);
+          nanos -= System.nanoTime() - now;
+        }
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void counters(ObjLongConsumer<String> sink) {
+    sink.accept("queue.depth", mQueue.size());
+    sink.accept("tasks.submitted", mSubmitted.sum());
+    sink.accept("tasks.executed", mExecuted.sum());
+    sink.accept("tasks.promoted", mPromoted.sum());
+    sink.accept("slices.deferred", mDeferred.sum());
+  }
+
+  /** Queued task. */
+  private static final class Entry {
+
+    /** Source task. */
+    final Runnable mTask;
+
+    /** Enqueue time in nanos. */
+    final long mTime;
+
+    /**
+     * Constructs a new {@link Entry}.
+     *
+     * @param task source task
+     * @param time enqueue time
+     */
+    Entry(Runnable task, long time) {mTask = task; mTime = time;}
+  }
+}
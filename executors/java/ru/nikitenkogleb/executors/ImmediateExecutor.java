@@ -30,42 +30,58 @@ import java.util.List;
 import java.util.concurrent.AbstractExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 /**
  * Immediate Executor Service.
  *
  * Inspired by guava's DirectExecutorService.
  *
- * TODO: Perhaps in the future it would be preferable to replace
- * TODO: the blocking approach with a non-blocking one.
+ * The executor state is a single atomic word: the lowest bit is the shutdown flag
+ * and the rest is the count of running tasks. The monitor is only used to park
+ * threads waiting in {@link #awaitTermination}.
  *
  * @author Gleb Nikitenko
  * @since 19.06.19
  */
 final class ImmediateExecutor extends AbstractExecutorService {
 
-  /** Lock used whenever accessing the state variables (runningTasks, shutdown) of the executor. */
-  private final Object mLock = new Object();
+  /** Shutdown bit. */
+  private static final long SHUTDOWN = 1L;
+
+  /** Running task increment. */
+  private static final long RUNNING = 2L;
 
   /*
-   * Conceptually, these two variables describe the executor being in
-   * one of three states:
-   *   - Active: shutdown == false
-   *   - Shutdown: runningTasks > 0 and shutdown == true
-   *   - Terminated: runningTasks == 0 and shutdown == true
+   * Conceptually, the state describes the executor being in one of three states:
+   *   - Active: shutdown bit is clear
+   *   - Shutdown: shutdown bit is set, running tasks > 0
+   *   - Terminated: state == SHUTDOWN
    */
-  private int runningTasks = 0;
-  private boolean shutdown = false;
+  private static final AtomicLongFieldUpdater<ImmediateExecutor> STATE_UPDATER =
+    AtomicLongFieldUpdater.newUpdater(ImmediateExecutor.class, "mState");
+
+  /** Waiters counter updater. */
+  private static final AtomicIntegerFieldUpdater<ImmediateExecutor> WAITERS_UPDATER =
+    AtomicIntegerFieldUpdater.newUpdater(ImmediateExecutor.class, "mWaiters");
+
+  /** Lock used for parking termination waiters. */
+  private final Object mLock = new Object();
+
+  /** Executor state. */
+  private volatile long mState = 0L;
+
+  /** Termination waiters. */
+  private volatile int mWaiters = 0;
 
   /** {@inheritDoc} */
   @Override
   public final void shutdown() {
-    synchronized (mLock) {
-      shutdown = true;
-      if (runningTasks == 0) {
-        mLock.notifyAll();
-      }
-    }
+    long state;
+    do if (((state = mState) & SHUTDOWN) != 0L) return;
+    while (!STATE_UPDATER.compareAndSet(this, state, state | SHUTDOWN));
+    if (state == 0L) signal();
   }
 
   /** {@inheritDoc} */
@@ -78,35 +94,37 @@ final class ImmediateExecutor extends AbstractExecutorService {
   /** {@inheritDoc} */
   @Override
   public final boolean isShutdown() {
-    synchronized (mLock) {
-      return shutdown;
-    }
+    return (mState & SHUTDOWN) != 0L;
   }
 
   /** {@inheritDoc} */
   @Override
   public final boolean isTerminated() {
-    synchronized (mLock) {
-      return shutdown && runningTasks == 0;
-    }
+    return mState == SHUTDOWN;
   }
 
   /** {@inheritDoc} */
   @Override
   public final boolean awaitTermination(long timeout, TimeUnit unit)
     throws InterruptedException {
+    if (isTerminated()) return true;
     long nanos = unit.toNanos(timeout);
-    synchronized (mLock) {
-      while (true) {
-        if (shutdown && runningTasks == 0) {return true;}
-        else if (nanos <= 0) {return false;}
-        else {
-          long now = System.nanoTime();
-          TimeUnit.NANOSECONDS.timedWait(mLock, nanos);
-          // subtract the actual time we waited
-          nanos -= System.nanoTime() - now;
+    WAITERS_UPDATER.incrementAndGet(this);
+    try {
+      synchronized (mLock) {
+        while (true) {
+          if (isTerminated()) {return true;}
+          else if (nanos <= 0) {return false;}
+          else {
+            long now = System.nanoTime();
+            TimeUnit.NANOSECONDS.timedWait(mLock, nanos);
+            // subtract the actual time we waited
+            nanos -= System.nanoTime() - now;
+          }
         }
       }
+    } finally {
+      WAITERS_UPDATER.decrementAndGet(this);
     }
   }
 
@@ -127,19 +145,20 @@ final class ImmediateExecutor extends AbstractExecutorService {
    * @throws RejectedExecutionException if the executor has been previously shutdown
    */
   private void startTask() {
-    synchronized (mLock) {
-      if (shutdown)
-        throw new RejectedExecutionException("Executor already shutdown");
-      runningTasks++;
-    }
+    long state;
+    do if (((state = mState) & SHUTDOWN) != 0L)
+      throw new RejectedExecutionException("Executor already shutdown");
+    while (!STATE_UPDATER.compareAndSet(this, state, state + RUNNING));
   }
 
   /** Decrements the running task count. */
   private void endTask() {
-    synchronized (mLock) {
-      int numRunning = --runningTasks;
-      if (numRunning == 0) mLock.notifyAll();
-    }
+    if (STATE_UPDATER.addAndGet(this, -RUNNING) == SHUTDOWN) signal();
+  }
+
+  /** Wakes up termination waiters, if any. */
+  private void signal() {
+    if (mWaiters != 0) synchronized (mLock) {mLock.notifyAll();}
   }
 
 }
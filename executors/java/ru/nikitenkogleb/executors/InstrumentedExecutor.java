@@ -0,0 +1,178 @@
+/*
+ * InstrumentedExecutor.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Instrumented {@link ExecutorService} decorator.
+ * <p>
+ * Records enqueue-to-start latency, run time and queue depth of every task into
+ * {@link Histogram}'s and reports tasks, that exceed the time budget.
+ * The report carries the submitting stack as its cause, if stacks capturing is enabled.
+ * Only the stack frames are captured on submission, they are resolved on report.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings("NullableProblems")
+final class InstrumentedExecutor extends AbstractExecutorService implements Metered {
+
+  /** Source executor. */
+  private final ExecutorService mDelegate;
+
+  /** Run-time budget in nanos. */
+  private final long mBudget;
+
+  /** Capture submitting stacks. */
+  private final boolean mStacks;
+
+  /** Slow tasks consumer. */
+  private final Consumer<Throwable> mSlow;
+
+  /** Histograms. */
+  private final Histogram
+    mLatency = new Histogram(),
+    mRunTime = new Histogram(),
+    mDepth = new Histogram();
+
+  /** Pending tasks. */
+  private final AtomicInteger mPending = new AtomicInteger();
+
+  /** Slow tasks counter. */
+  private final LongAdder mSlowCount = new LongAdder();
+
+  /**
+   * Constructs a new {@link InstrumentedExecutor}.
+   *
+   * @param delegate source executor
+   * @param budget   run-time budget in nanos
+   * @param stacks   capture submitting stacks
+   * @param slow     slow tasks consumer
+   */
+  InstrumentedExecutor(ExecutorService delegate, long budget,
+                       boolean stacks, Consumer<Throwable> slow) {
+    mDelegate = delegate; mBudget = budget; mStacks = stacks; mSlow = slow;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void execute(Runnable command) {
+    if (command == null) throw new NullPointerException();
+    final Throwable site = mStacks ? new Throwable("Submitted here") : null;
+    mDepth.record(mPending.getAndIncrement());
+    try {mDelegate.execute(new Probe(command, System.nanoTime(), site));}
+    catch (RuntimeException exception) {mPending.decrementAndGet(); throw exception;}
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void shutdown() {mDelegate.shutdown();}
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Drained tasks leave the pending gauge and are returned unwrapped.
+   */
+  @Override
+  public final List<Runnable> shutdownNow() {
+    final List<Runnable> result = new ArrayList<>();
+    for (Runnable task : mDelegate.shutdownNow()) {
+      if (task instanceof Probe) {mPending.decrementAndGet(); task = ((Probe) task).mTask;}
+      result.add(task);
+    }
+    return result;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isShutdown() {return mDelegate.isShutdown();}
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isTerminated() {return mDelegate.isTerminated();}
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean awaitTermination(long time, TimeUnit unit) throws InterruptedException
+  {return mDelegate.awaitTermination(time, unit);}
+
+  /** {@inheritDoc} */
+  @Override
+  public final void counters(ObjLongConsumer<String> sink) {
+    sink.accept("queue.pending", mPending.get());
+    sink.accept("tasks.slow", mSlowCount.sum());
+    mLatency.snapshot().counters("latency.nanos", sink);
+    mRunTime.snapshot().counters("runtime.nanos", sink);
+    mDepth.snapshot().counters("queue.depth", sink);
+    if (mDelegate instanceof Metered) ((Metered) mDelegate).counters(sink);
+  }
+
+  /** Measured task. */
+  private final class Probe implements Runnable {
+
+    /** Source task. */
+    private final Runnable mTask;
+
+    /** Enqueue time in nanos. */
+    private final long mTime;
+
+    /** Submission site. */
+    private final Throwable mSite;
+
+    /**
+     * Constructs a new {@link Probe}.
+     *
+     * @param task source task
+     * @param time enqueue time
+     * @param site submission site
+     */
+    Probe(Runnable task, long time, Throwable site) {mTask = task; mTime = time; mSite = site;}
+
+    /** {@inheritDoc} */
+    @Override
+    public final void run() {
+      final long start = System.nanoTime();
+      mPending.decrementAndGet(); mLatency.record(start - mTime);
+      try {mTask.run();} finally {
+        final long time = System.nanoTime() - start; mRunTime.record(time);
+        if (time > mBudget) {
+          mSlowCount.increment();
+          mSlow.accept(new Throwable("Task took " + TimeUnit.NANOSECONDS.toMillis(time) +
+            " ms, budget is " + TimeUnit.NANOSECONDS.toMillis(mBudget) + " ms", mSite));
+        }
+      }
+    }
+  }
+}
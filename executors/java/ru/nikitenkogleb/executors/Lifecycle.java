@@ -0,0 +1,316 @@
+/*
+ * Lifecycle.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Lifecycle registry of executors and threads, created by the module.
+ * <p>
+ * Every executor, returned by {@link ExecutorServices} factories, and every thread of their
+ * factories is tracked with its creation time, so leaks may be caught in soak tests.
+ * Creation stacks are captured only after {@link #stacks(boolean)} is turned on:
+ *
+ * <pre>{@code
+ * Lifecycle.stacks(true);
+ * Lifecycle.budget(64);
+ * ...
+ * Lifecycle.report(leak -> Log.w(TAG, leak));
+ * }</pre>
+ *
+ * Executors and threads are weakly referenced, so a thread, that was created but never
+ * started, is dropped once it's collected.
+ * Idle time is inferred from changes of the executor's counters between reports.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings({ "unused", "WeakerAccess", "RedundantSuppression" })
+public final class Lifecycle {
+
+  /** Tracked executors. */
+  private static final Set<Entry> EXECUTORS = ConcurrentHashMap.newKeySet();
+
+  /** Collected executors. */
+  private static final ReferenceQueue<Executor> COLLECTED = new ReferenceQueue<>();
+
+  /** Tickets of live threads. */
+  private static final Set<Ticket> THREADS = ConcurrentHashMap.newKeySet();
+
+  /** Collected threads. */
+  private static final ReferenceQueue<Thread> ABANDONED = new ReferenceQueue<>();
+
+  /** Count of live threads. */
+  private static final AtomicInteger LIVE = new AtomicInteger();
+
+  /** Counters. */
+  private static final LongAdder
+    CREATED = new LongAdder(), REJECTED = new LongAdder(), COLLECTED_COUNT = new LongAdder();
+
+  /** Maximum of live threads, non-positive for unlimited. */
+  private static volatile int sBudget = 0;
+
+  /** Peak count of live threads. */
+  private static volatile int sPeak = 0;
+
+  /** Capture creation stacks. */
+  private static volatile boolean sStacks = false;
+
+  /**
+   * The caller should be prevented from constructing objects of this class.
+   * Also, this prevents even the native class from calling this constructor.
+   **/
+  private Lifecycle() {throw new AssertionError();}
+
+  /**
+   * Limits the count of live threads of the module.
+   * Over the budget thread factories throw {@link RejectedExecutionException}, so the
+   * submission, that needs a new thread, fails instead of being queued to a pool without
+   * workers. Threads of the process-wide shared executors are counted, but never rejected.
+   *
+   * @param threads maximum of live threads, non-positive for unlimited
+   */
+  public static void budget(int threads) {sBudget = threads;}
+
+  /**
+   * Creation stacks cost a stack walk per executor and thread, so they are off by default.
+   *
+   * @param enabled capture creation stacks of executors and threads, created from now on
+   */
+  public static void stacks(boolean enabled) {sStacks = enabled;}
+
+  /** @return count of live threads */
+  public static int threads() {abandon(); return LIVE.get();}
+
+  /** @return count of live executors, that are not shut down yet */
+  public static int executors() {
+    expunge(); int result = 0;
+    for (Entry entry : EXECUTORS) if (!entry.shutdown()) result++;
+    return result;
+  }
+
+  /** @param sink counters consumer (name, value) */
+  public static void counters(ObjLongConsumer<String> sink) {
+    sink.accept("executors.live", executors());
+    sink.accept("executors.collected", COLLECTED_COUNT.sum());
+    sink.accept("threads.live", threads());
+    sink.accept("threads.peak", sPeak);
+    sink.accept("threads.created", CREATED.sum());
+    sink.accept("threads.rejected", REJECTED.sum());
+  }
+
+  /**
+   * Reports every live executor, that is not shut down, and every live thread.
+   * Each report is a {@link Throwable} with the creation stack, if it was captured
+   * (see {@link #stacks(boolean)}), its message holds age and,
+   * for metered executors and pools, time since the last observed activity.
+   *
+   * @param sink reports consumer
+   */
+  public static void report(Consumer<Throwable> sink) {
+    expunge(); final long now = System.nanoTime();
+    for (Entry entry : EXECUTORS) {
+      final Executor executor = entry.get();
+      if (executor == null || entry.shutdown()) continue;
+      final long idle = entry.idle(executor, now);
+      sink.accept(entry.mSite.report(executor.getClass().getSimpleName(), now,
+        idle < 0L ? "" : ", idle " + TimeUnit.NANOSECONDS.toMillis(idle) + " ms"));
+    }
+    abandon(); for (Ticket ticket : THREADS) {
+      final Thread thread = ticket.get(); if (thread == null) continue;
+      sink.accept(ticket.mSite.report(thread.getName(), now, ", " + thread.getState()));
+    }
+  }
+
+  /**
+   * @param executor new executor
+   * @param <E>      type of executor
+   *
+   * @return the same executor
+   */
+  static <E extends Executor> E track(E executor) {
+    expunge(); EXECUTORS.add(new Entry(executor)); return executor;
+  }
+
+  /**
+   * Reserves a live thread, before the thread is constructed.
+   *
+   * @param budgeted true if thread is subject to the {@link #budget(int)}
+   *
+   * @throws RejectedExecutionException if the thread budget is exceeded
+   */
+  static void reserve(boolean budgeted) {
+    abandon(); int live; for (; ; ) {
+      final int budget = sBudget; live = LIVE.get();
+      if (budgeted && budget > 0 && live >= budget) {
+        REJECTED.increment();
+        throw new RejectedExecutionException("Thread budget exceeded: " + budget);
+      }
+      if (LIVE.compareAndSet(live, live + 1)) break;
+    }
+    if (live >= sPeak) sPeak = live + 1;
+  }
+
+  /** Returns the reservation of a thread, that failed to be constructed. */
+  static void unreserve() {LIVE.decrementAndGet();}
+
+  /**
+   * @param thread new thread, constructed after {@link #reserve(boolean)}
+   *
+   * @return the ticket to {@link #release(Ticket)} on thread termination
+   */
+  static Ticket attach(Thread thread) {
+    final Ticket result = new Ticket(thread);
+    THREADS.add(result); CREATED.increment(); return result;
+  }
+
+  /** @param ticket ticket of the terminated thread, may be null */
+  static void release(Ticket ticket)
+  {if (ticket != null && THREADS.remove(ticket)) LIVE.decrementAndGet();}
+
+  /** Releases threads, that were collected without termination, e.g. never started. */
+  private static void abandon()
+  {for (Ticket ticket; (ticket = (Ticket) ABANDONED.poll()) != null; ) release(ticket);}
+
+  /** Drops collected executors. */
+  private static void expunge() {
+    for (Entry entry; (entry = (Entry) COLLECTED.poll()) != null; )
+    {EXECUTORS.remove(entry); COLLECTED_COUNT.increment();}
+  }
+
+  /** Creation site. */
+  private static final class Site extends Throwable {
+
+    /** Creation time in nanos. */
+    private final long mCreated = System.nanoTime();
+
+    /** Constructs a new {@link Site}. */
+    Site() {super(null, null, false, sStacks);}
+
+    /**
+     * Constructs a new {@link Site}.
+     *
+     * @param message report message
+     */
+    private Site(String message) {super(message, null, false, true);}
+
+    /**
+     * @param name   the name of tracked object
+     * @param now    current time in nanos
+     * @param detail details of the message
+     *
+     * @return report with the creation stack
+     */
+    final Throwable report(String name, long now, String detail) {
+      final Throwable result = new Site(name + ", age " +
+        TimeUnit.NANOSECONDS.toMillis(now - mCreated) + " ms" + detail);
+      result.setStackTrace(getStackTrace()); return result;
+    }
+  }
+
+  /** Tracked thread. */
+  static final class Ticket extends WeakReference<Thread> {
+
+    /** Creation site. */
+    final Site mSite = new Site();
+
+    /** @param thread tracked thread */
+    private Ticket(Thread thread) {super(thread, ABANDONED);}
+  }
+
+  /** Tracked executor. */
+  private static final class Entry extends WeakReference<Executor> {
+
+    /** Creation site. */
+    final Site mSite = new Site();
+
+    /** Last observed activity. */
+    private long mActivity = Long.MIN_VALUE;
+
+    /** Time of the last observed activity in nanos. */
+    private long mActive = mSite.mCreated;
+
+    /** Shutdown flag. */
+    private volatile boolean mShutdown = false;
+
+    /** @param executor tracked executor */
+    Entry(Executor executor) {super(executor, COLLECTED);}
+
+    /** @return true if executor was shut down */
+    final boolean shutdown() {
+      if (mShutdown) return true; final Executor executor = get();
+      return mShutdown = executor instanceof ExecutorService &&
+        ((ExecutorService) executor).isShutdown();
+    }
+
+    /**
+     * @param executor tracked executor
+     * @param now      current time in nanos
+     *
+     * @return time since the last observed activity in nanos, negative if unknown
+     */
+    final synchronized long idle(Executor executor, long now) {
+      final long activity = activity(executor);
+      if (activity == Long.MIN_VALUE) return -1L;
+      if (activity != mActivity) {mActivity = activity; mActive = now;}
+      return now - mActive;
+    }
+
+    /**
+     * @param executor tracked executor
+     *
+     * @return activity signature or {@link Long#MIN_VALUE}, if unknown
+     */
+    private static long activity(Executor executor) {
+      if (executor instanceof ThreadPoolExecutor) {
+        final ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+        return pool.getCompletedTaskCount() * 31L + pool.getActiveCount();
+      }
+      if (executor instanceof ForkJoinPool) {
+        final ForkJoinPool pool = (ForkJoinPool) executor;
+        return pool.getStealCount() * 31L +
+          pool.getQueuedSubmissionCount() + pool.getActiveThreadCount();
+      }
+      if (!(executor instanceof Metered)) return Long.MIN_VALUE;
+      final long[] result = {17L};
+      ((Metered) executor).counters((name, value) -> result[0] = result[0] * 31L + value);
+      return result[0];
+    }
+  }
+}
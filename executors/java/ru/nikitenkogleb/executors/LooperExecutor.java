@@ -27,25 +27,31 @@ package ru.nikitenkogleb.executors;
 
 import android.os.Handler;
 import android.os.Looper;
+import android.os.Message;
+import android.os.MessageQueue;
+import android.os.SystemClock;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.AbstractExecutorService;
 import java.util.concurrent.Callable;
-import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Delayed;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.RunnableFuture;
 import java.util.concurrent.RunnableScheduledFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
 
 /**
  * {@link ScheduledExecutorService} wrapper under android {@link Looper}.
@@ -56,11 +62,14 @@ import java.util.function.Consumer;
 @SuppressWarnings("NullableProblems")
 final class LooperExecutor
   extends AbstractExecutorService
-  implements ScheduledExecutorService {
+  implements ScheduledExecutorService, Metered {
 
   /** Default time unit. */
   private static final TimeUnit TIME_UNIT = TimeUnit.NANOSECONDS;
 
+  /** Fire-and-forget message. */
+  private static final int EXECUTE = 0;
+
   /** Android Handler. */
   private final Handler mHandler;
 
@@ -73,6 +82,17 @@ final class LooperExecutor
   /** Errors consumer. */
   private final Consumer<Throwable> mErrors;
 
+  /** Looper hop executor, lazily created. */
+  private volatile Executor mHop = null;
+
+  /** Counters. */
+  private final LongAdder
+    mScheduled = new LongAdder(),
+    mCancelled = new LongAdder();
+
+  /** Live periodic tasks, cancelled on shutdown. */
+  private final Set<ScheduledTask<?>> mPeriodic = ConcurrentHashMap.newKeySet();
+
   /** States. */
   private static final long
     NOT_TERMINATED = 0L,
@@ -93,21 +113,20 @@ final class LooperExecutor
    */
   LooperExecutor(Looper looper) {
     mThread = (mLooper = looper).getThread();
-    mHandler = new Handler(mLooper);
+    mHandler = new Handler(mLooper, this::dispatch);
     mErrors = e -> {if ((e = e.getCause()) instanceof Error) throw (Error) e;};
   }
 
   /** {@inheritDoc} */
   @Override
   protected final <T> RunnableFuture<T> newTaskFor(Callable<T> call) {
-    return new ScheduledTask<>(call, 0, TIME_UNIT, mHandler::removeCallbacks, mErrors);
+    return new ScheduledTask<>(call, SystemClock.uptimeMillis(), 0L);
   }
 
   /** {@inheritDoc} */
   @Override
   protected final <T> RunnableFuture<T> newTaskFor(Runnable run, T val) {
-    return new ScheduledTask<>(Executors.callable(run, val), 0,
-      TIME_UNIT, mHandler::removeCallbacks, mErrors);
+    return new ScheduledTask<>(Executors.callable(run, val), SystemClock.uptimeMillis(), 0L);
   }
 
   /** {@inheritDoc} */
@@ -115,8 +134,8 @@ final class LooperExecutor
   public final ScheduledFuture<?> schedule
   (Runnable command, long delay, TimeUnit unit) {
     final ScheduledTask<Object> result = new ScheduledTask<>
-      (Executors.callable(command), delay, unit, mHandler::removeCallbacks, mErrors);
-    post(result, unit.toMillis(delay));
+      (Executors.callable(command), triggerTime(delay, unit), 0L);
+    post(result);
     return result;
   }
 
@@ -124,40 +143,70 @@ final class LooperExecutor
   @Override
   public final <V> ScheduledFuture<V> schedule
   (Callable<V> callable, long delay, TimeUnit unit) {
+    if (callable == null) throw new NullPointerException();
     final ScheduledTask<V> result = new ScheduledTask<>
-      (callable, delay, unit, mHandler::removeCallbacks, mErrors);
-    post(result, unit.toMillis(delay));
+      (callable, triggerTime(delay, unit), 0L);
+    post(result);
     return result;
   }
 
-  /**
-   * @param task  runnable task
-   * @param delay task delay
-   */
-  private void post(Runnable task, long delay) {
-    if (!mHandler.postDelayed(task, delay))
+  /** @param task scheduled task */
+  private void post(ScheduledTask<?> task) {
+    if (task.isPeriodic() && mPeriodic.add(task) && isShutdown()) {task.cancel(false); return;}
+    if (!mHandler.postAtTime(task, task, task.mTime)) {
+      if (task.isPeriodic()) task.cancel(false);
       mErrors.accept(new Throwable(new Error("Looper was terminated")));
+    }
   }
 
   /** {@inheritDoc} */
   @Override
   public final ScheduledFuture<?> scheduleAtFixedRate
   (Runnable command, long initial, long period, TimeUnit unit) {
-    return schedule(command, initial, unit);
+    if (period <= 0L) throw new IllegalArgumentException("period <= 0");
+    final ScheduledTask<Void> result = new ScheduledTask<>
+      (Executors.callable(command, null), triggerTime(initial, unit), periodOf(period, unit));
+    post(result);
+    return result;
   }
 
   /** {@inheritDoc} */
   @Override
   public final ScheduledFuture<?> scheduleWithFixedDelay
   (Runnable command, long initial, long delay, TimeUnit unit) {
-    return schedule(command, initial, unit);
+    if (delay <= 0L) throw new IllegalArgumentException("delay <= 0");
+    final ScheduledTask<Void> result = new ScheduledTask<>
+      (Executors.callable(command, null), triggerTime(initial, unit), -periodOf(delay, unit));
+    post(result);
+    return result;
   }
 
+  /**
+   * @param delay relative delay
+   * @param unit  time unit
+   *
+   * @return absolute trigger time in {@link SystemClock#uptimeMillis()} base
+   */
+  private static long triggerTime(long delay, TimeUnit unit) {
+    final long now = SystemClock.uptimeMillis(), millis = unit.toMillis(Math.max(delay, 0L));
+    return millis >= Long.MAX_VALUE - now ? Long.MAX_VALUE : now + millis;
+  }
+
+  /**
+   * @param period positive period
+   * @param unit   time unit
+   *
+   * @return period in millis, at least one (handler resolution)
+   */
+  private static long periodOf(long period, TimeUnit unit)
+  {return Math.max(unit.toMillis(period), 1L);}
+
   /** {@inheritDoc} */
   @Override
   public final void shutdown() {
     if (setTerminated(TERMINATED)) {
       mHandler.removeCallbacksAndMessages(null);
+      for (ScheduledTask<?> task : mPeriodic) task.cancel(false);
       if (mLooper != Looper.getMainLooper())
         mLooper.quitSafely();
     }
@@ -197,12 +246,38 @@ final class LooperExecutor
     }
   }
 
-  /** {@inheritDoc} */
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Tasks created by {@link #newTaskFor} are posted as is, so they can be removed on cancel.
+   * Any other command is carried by a pooled {@link Message} without extra wrappers.
+   */
   @Override
   public final void execute(Runnable command) {
-    schedule(command, 0, TIME_UNIT);
+    if (command == null) throw new NullPointerException();
+    if (command instanceof ScheduledTask) post((ScheduledTask<?>) command);
+    else if (!mHandler.sendMessage(Message.obtain(mHandler, EXECUTE, command)))
+      mErrors.accept(new Throwable(new Error("Looper was terminated")));
   }
 
+  /**
+   * @param message looper message
+   *
+   * @return true if message was handled
+   */
+  private boolean dispatch(Message message) {
+    if (message.what != EXECUTE) return false;
+    try {((Runnable) message.obj).run();}
+    catch (Throwable throwable) {failed(throwable);}
+    return true;
+  }
+
+  /** @return looper's message queue */
+  final MessageQueue queue() {return mLooper.getQueue();}
+
+  /** @param throwable uncaught task failure */
+  final void failed(Throwable throwable) {mErrors.accept(new ExecutionException(throwable));}
+
   /**
    * @param value new terminated state
    *
@@ -215,70 +290,96 @@ final class LooperExecutor
   }
 
   /**
-   * @param runnable source task
-   * @param cancel cancel callback
-   * @param failed error callback
+   * @return executor, that runs tasks inline on the looper thread,
+   * and coalesces tasks from other threads into single looper messages
    */
-  private static void checkResult(Runnable runnable, Consumer<Runnable> cancel, Consumer<Throwable> failed) {
-    if (!(runnable instanceof Future)) return;
-    try {((Future)runnable).get();}
-    catch (CancellationException exception)
-    {if (cancel != null) cancel.accept(runnable);}
-    catch (ExecutionException | InterruptedException exception)
-    {if (failed != null) failed.accept(exception);}
+  final Executor hop() {
+    Executor result = mHop; if (result != null) return result;
+    synchronized (this) {
+      if ((result = mHop) == null) {
+        final Executor coalescing = new CoalescingExecutor(this, 0L, false);
+        mHop = result = command -> {
+          if (mLooper.isCurrentThread()) command.run();
+          else coalescing.execute(command);
+        };
+      }
+      return result;
+    }
   }
 
+  /**
+   * @param stage source stage
+   * @param <T>   type of result
+   *
+   * @return stage, whose async continuations are bound to this looper
+   */
+  final <T> LooperStage<T> stage(CompletionStage<T> stage)
+  {return new LooperStage<>(stage.toCompletableFuture(), hop());}
+
+  /** {@inheritDoc} */
+  @Override
+  public final void counters(ObjLongConsumer<String> sink) {
+    sink.accept("tasks.scheduled", mScheduled.sum());
+    sink.accept("tasks.cancelled", mCancelled.sum());
+  }
+
+  /** Resets the counters, e.g. after warm-up. */
+  final void reset() {mScheduled.reset(); mCancelled.reset();}
+
   /**
    * Scheduled task.
+   * <p>
+   * Periodic tasks re-arm themselves on the same {@link Handler} without any per-tick allocation.
+   * The next trigger time of a fixed-rate task is computed from the absolute
+   * {@link SystemClock#uptimeMillis()} baseline, so it doesn't drift, and ticks missed while
+   * the looper was busy are coalesced into a single run.
    *
    * @param <T> type of result
    */
-  private static final class ScheduledTask<T>
+  private final class ScheduledTask<T>
+    extends FutureTask<T>
     implements RunnableScheduledFuture<T> {
 
-    /** Execution time. */
-    private final long mTime;
+    /** Execution time in {@link SystemClock#uptimeMillis()} base. */
+    long mTime;
 
-    /** Future Task. */
-    private final FutureTask<T> mFutureTask;
+    /** Started flag. */
+    private volatile boolean mStarted = false;
+
+    /**
+     * Period in millis.
+     * <p>
+     * A positive value indicates fixed-rate execution,
+     * a negative value indicates fixed-delay execution
+     * and a value of 0 indicates a non-repeating task.
+     */
+    private final long mPeriod;
 
     /**
      * Constructs a new {@link ScheduledTask}.
      *
-     * @param call callable task
-     * @param time schedule delay
-     * @param unit schedule time-unit
-     * @param cancel cancellation callback
-     * @param onFailed errors callback
+     * @param call   callable task
+     * @param time   absolute trigger time
+     * @param period repeat period
      */
-    ScheduledTask(Callable<T> call, long time, TimeUnit unit,
-                  Consumer<Runnable> cancel,
-                  Consumer<Throwable> onFailed) {
-      mFutureTask = new FutureTask<T>(call)
-      {@Override protected final void done()
-        {checkResult(this, cancel, onFailed);}};
-      mTime = unit.toNanos(time);
+    ScheduledTask(Callable<T> call, long time, long period) {
+      super(call); mTime = time; mPeriod = period; mScheduled.increment();
     }
 
     /** {@inheritDoc} */
     @Override
-    public final boolean isPeriodic() {return false;}
+    public final boolean isPeriodic() {return mPeriod != 0L;}
 
     /** {@inheritDoc} */
     public final long getDelay(TimeUnit unit) {
-      return unit.convert(mTime - System.nanoTime(), TIME_UNIT);
+      return unit.convert(mTime - SystemClock.uptimeMillis(), TimeUnit.MILLISECONDS);
     }
 
     /** {@inheritDoc} */
     public final int compareTo(Delayed other) {
       if (other == this) return 0;
-      if (other instanceof ScheduledTask) {
-        final ScheduledTask<?> x = (ScheduledTask<?>) other;
-        final long diff = mTime - x.mTime;
-        if (diff < 0) return -1;
-        else if (diff > 0) return 1;
-        else return 1;
-      }
+      if (other instanceof ScheduledTask)
+        return Long.compare(mTime, ((ScheduledTask<?>) other).mTime);
       final long diff = getDelay(TIME_UNIT) - other.getDelay(TIME_UNIT);
       return (diff < 0) ? -1 : (diff > 0) ? 1 : 0;
     }
@@ -286,38 +387,37 @@ final class LooperExecutor
     /** {@inheritDoc} */
     @Override
     public final void run() {
-      mFutureTask.run();
+      if (!mStarted) mStarted = true;
+      if (!isPeriodic()) super.run();
+      else if (!runAndReset()) mPeriodic.remove(this);
+      else if (isShutdown()) cancel(false);
+      else {
+        final long now = SystemClock.uptimeMillis();
+        if (mPeriod > 0L) {
+          long next = mTime + mPeriod;
+          if (next < now) next += (now - next + mPeriod - 1L) / mPeriod * mPeriod;
+          mTime = next;
+        } else mTime = now - mPeriod;
+        post(this);
+      }
     }
 
     /** {@inheritDoc} */
     @Override
     public final boolean cancel(boolean interrupt) {
-      return mFutureTask.cancel(interrupt);
-    }
-
-    /** {@inheritDoc} */
-    @Override
-    public final boolean isCancelled() {
-      return mFutureTask.isCancelled();
-    }
-
-    /** {@inheritDoc} */
-    @Override
-    public final boolean isDone() {
-      return mFutureTask.isDone();
-    }
-
-    /** {@inheritDoc} */
-    @Override
-    public final T get() throws ExecutionException, InterruptedException {
-      return mFutureTask.get();
+      final boolean result = super.cancel(interrupt);
+      if (result) {
+        mHandler.removeCallbacks(this, this);
+        if (isPeriodic()) mPeriodic.remove(this);
+        if (!mStarted) mCancelled.increment();
+      }
+      return result;
     }
 
     /** {@inheritDoc} */
     @Override
-    public final T get(long time, TimeUnit unit)
-      throws ExecutionException, InterruptedException, TimeoutException {
-      return mFutureTask.get(time, unit);
+    protected final void setException(Throwable throwable) {
+      super.setException(throwable); failed(throwable);
     }
   }
 }
@@ -0,0 +1,304 @@
+/*
+ * LooperStage.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * {@link CompletionStage} bound to a looper.
+ * <p>
+ * Async continuations without an explicit executor hop onto the looper:
+ * they run inline when the stage completes on the looper thread, otherwise
+ * all continuations posted before the looper gets to them share a single message.
+ * Every dependent stage is bound to the same looper.
+ *
+ * @param <T> type of result
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings("NullableProblems")
+public final class LooperStage<T> implements CompletionStage<T> {
+
+  /** Source future. */
+  private final CompletableFuture<T> mFuture;
+
+  /** Looper hop executor. */
+  private final Executor mHop;
+
+  /**
+   * Constructs a new {@link LooperStage}.
+   *
+   * @param future source future
+   * @param hop    looper hop executor
+   */
+  LooperStage(CompletableFuture<T> future, Executor hop) {mFuture = future; mHop = hop;}
+
+  /**
+   * @param future dependent future
+   * @param <U>    type of result
+   *
+   * @return dependent stage, bound to the same looper
+   */
+  private <U> LooperStage<U> wrap(CompletableFuture<U> future)
+  {return new LooperStage<>(future, mHop);}
+
+  /** {@inheritDoc} */
+  @Override
+  public final <U> LooperStage<U> thenApply
+  (Function<? super T, ? extends U> fn)
+  {return wrap(mFuture.thenApply(fn));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final <U> LooperStage<U> thenApplyAsync
+  (Function<? super T, ? extends U> fn)
+  {return wrap(mFuture.thenApplyAsync(fn, mHop));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final <U> LooperStage<U> thenApplyAsync
+  (Function<? super T, ? extends U> fn, Executor executor)
+  {return wrap(mFuture.thenApplyAsync(fn, executor));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final LooperStage<Void> thenAccept
+  (Consumer<? super T> action)
+  {return wrap(mFuture.thenAccept(action));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final LooperStage<Void> thenAcceptAsync
+  (Consumer<? super T> action)
+  {return wrap(mFuture.thenAcceptAsync(action, mHop));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final LooperStage<Void> thenAcceptAsync
+  (Consumer<? super T> action, Executor executor)
+  {return wrap(mFuture.thenAcceptAsync(action, executor));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final LooperStage<Void> thenRun
+  (Runnable action)
+  {return wrap(mFuture.thenRun(action));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final LooperStage<Void> thenRunAsync
+  (Runnable action)
+  {return wrap(mFuture.thenRunAsync(action, mHop));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final LooperStage<Void> thenRunAsync
+  (Runnable action, Executor executor)
+  {return wrap(mFuture.thenRunAsync(action, executor));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final <U, V> LooperStage<V> thenCombine
+  (CompletionStage<? extends U> other, BiFunction<? super T, ? super U, ? extends V> fn)
+  {return wrap(mFuture.thenCombine(other, fn));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final <U, V> LooperStage<V> thenCombineAsync
+  (CompletionStage<? extends U> other, BiFunction<? super T, ? super U, ? extends V> fn)
+  {return wrap(mFuture.thenCombineAsync(other, fn, mHop));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final <U, V> LooperStage<V> thenCombineAsync
+  (CompletionStage<? extends U> other, BiFunction<? super T, ? super U, ? extends V> fn, Executor executor)
+  {return wrap(mFuture.thenCombineAsync(other, fn, executor));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final <U> LooperStage<Void> thenAcceptBoth
+  (CompletionStage<? extends U> other, BiConsumer<? super T, ? super U> action)
+  {return wrap(mFuture.thenAcceptBoth(other, action));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final <U> LooperStage<Void> thenAcceptBothAsync
+  (CompletionStage<? extends U> other, BiConsumer<? super T, ? super U> action)
+  {return wrap(mFuture.thenAcceptBothAsync(other, action, mHop));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final <U> LooperStage<Void> thenAcceptBothAsync
+  (CompletionStage<? extends U> other, BiConsumer<? super T, ? super U> action, Executor executor)
+  {return wrap(mFuture.thenAcceptBothAsync(other, action, executor));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final LooperStage<Void> runAfterBoth
+  (CompletionStage<?> other, Runnable action)
+  {return wrap(mFuture.runAfterBoth(other, action));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final LooperStage<Void> runAfterBothAsync
+  (CompletionStage<?> other, Runnable action)
+  {return wrap(mFuture.runAfterBothAsync(other, action, mHop));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final LooperStage<Void> runAfterBothAsync
+  (CompletionStage<?> other, Runnable action, Executor executor)
+  {return wrap(mFuture.runAfterBothAsync(other, action, executor));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final <U> LooperStage<U> applyToEither
+  (CompletionStage<? extends T> other, Function<? super T, U> fn)
+  {return wrap(mFuture.applyToEither(other, fn));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final <U> LooperStage<U> applyToEitherAsync
+  (CompletionStage<? extends T> other, Function<? super T, U> fn)
+  {return wrap(mFuture.applyToEitherAsync(other, fn, mHop));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final <U> LooperStage<U> applyToEitherAsync
+  (CompletionStage<? extends T> other, Function<? super T, U> fn, Executor executor)
+  {return wrap(mFuture.applyToEitherAsync(other, fn, executor));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final LooperStage<Void> acceptEither
+  (CompletionStage<? extends T> other, Consumer<? super T> action)
+  {return wrap(mFuture.acceptEither(other, action));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final LooperStage<Void> acceptEitherAsync
+  (CompletionStage<? extends T> other, Consumer<? super T> action)
+  {return wrap(mFuture.acceptEitherAsync(other, action, mHop));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final LooperStage<Void> acceptEitherAsync
+  (CompletionStage<? extends T> other, Consumer<? super T> action, Executor executor)
+  {return wrap(mFuture.acceptEitherAsync(other, action, executor));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final LooperStage<Void> runAfterEither
+  (CompletionStage<?> other, Runnable action)
+  {return wrap(mFuture.runAfterEither(other, action));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final LooperStage<Void> runAfterEitherAsync
+  (CompletionStage<?> other, Runnable action)
+  {return wrap(mFuture.runAfterEitherAsync(other, action, mHop));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final LooperStage<Void> runAfterEitherAsync
+  (CompletionStage<?> other, Runnable action, Executor executor)
+  {return wrap(mFuture.runAfterEitherAsync(other, action, executor));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final <U> LooperStage<U> thenCompose
+  (Function<? super T, ? extends CompletionStage<U>> fn)
+  {return wrap(mFuture.thenCompose(fn));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final <U> LooperStage<U> thenComposeAsync
+  (Function<? super T, ? extends CompletionStage<U>> fn)
+  {return wrap(mFuture.thenComposeAsync(fn, mHop));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final <U> LooperStage<U> thenComposeAsync
+  (Function<? super T, ? extends CompletionStage<U>> fn, Executor executor)
+  {return wrap(mFuture.thenComposeAsync(fn, executor));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final LooperStage<T> whenComplete
+  (BiConsumer<? super T, ? super Throwable> action)
+  {return wrap(mFuture.whenComplete(action));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final LooperStage<T> whenCompleteAsync
+  (BiConsumer<? super T, ? super Throwable> action)
+  {return wrap(mFuture.whenCompleteAsync(action, mHop));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final LooperStage<T> whenCompleteAsync
+  (BiConsumer<? super T, ? super Throwable> action, Executor executor)
+  {return wrap(mFuture.whenCompleteAsync(action, executor));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final <U> LooperStage<U> handle
+  (BiFunction<? super T, Throwable, ? extends U> fn)
+  {return wrap(mFuture.handle(fn));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final <U> LooperStage<U> handleAsync
+  (BiFunction<? super T, Throwable, ? extends U> fn)
+  {return wrap(mFuture.handleAsync(fn, mHop));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final <U> LooperStage<U> handleAsync
+  (BiFunction<? super T, Throwable, ? extends U> fn, Executor executor)
+  {return wrap(mFuture.handleAsync(fn, executor));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final LooperStage<T> exceptionally
+  (Function<Throwable, ? extends T> fn)
+  {return wrap(mFuture.exceptionally(fn));}
+
+  /** {@inheritDoc} */
+  @Override
+  public final CompletableFuture<T> toCompletableFuture() {return mFuture;}
+
+  /** {@inheritDoc} */
+  @Override
+  public final String toString() {return mFuture.toString();}
+}
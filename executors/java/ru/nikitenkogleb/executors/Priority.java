@@ -0,0 +1,59 @@
+/*
+ * Priority.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import android.os.Process;
+
+/**
+ * Task priorities of {@link PriorityExecutor}.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+public enum Priority {
+
+  /** The user is waiting for the result right now. */
+  IMMEDIATE(Process.THREAD_PRIORITY_FOREGROUND),
+
+  /** The result is going to be shown to the user. */
+  USER_VISIBLE(Process.THREAD_PRIORITY_DEFAULT),
+
+  /** Regular background work. */
+  BACKGROUND(Process.THREAD_PRIORITY_DEFAULT + Process.THREAD_PRIORITY_LESS_FAVORABLE),
+
+  /** Speculative work, that may never be needed. */
+  PREFETCH(Process.THREAD_PRIORITY_BACKGROUND);
+
+  /** Android-process priority of worker thread. */
+  final int process;
+
+  /**
+   * Constructs a new {@link Priority}.
+   *
+   * @param process android-process priority
+   */
+  Priority(int process) {this.process = process;}
+}
@@ -0,0 +1,396 @@
+/*
+ * PriorityExecutor.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Priority-aware thread pool.
+ * <p>
+ * Tasks are queued per {@link Priority} level and the most urgent level is served first.
+ * A waiting task is promoted by one level per aging interval, so low levels never starve.
+ * Tasks submitted without explicit priority from the main thread inherit
+ * {@link Priority#USER_VISIBLE}, all the others default to {@link Priority#BACKGROUND}.
+ * The worker thread takes the android-process priority of the task it is running,
+ * user-visible and more urgent tasks run boosted (see {@link ExecutorServices#boost}).
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings({ "unused", "NullableProblems" })
+public final class PriorityExecutor extends ThreadPoolExecutor implements Metered {
+
+  /** Base android-process priority of workers. */
+  private final int mProcess;
+
+  /** Task queue. */
+  private final LevelQueue mQueue;
+
+  /**
+   * Constructs a new {@link PriorityExecutor}.
+   *
+   * @param threads maximum number of threads
+   * @param aging   aging interval in nanos
+   * @param factory thread factory
+   * @param process base android-process priority of workers
+   */
+  PriorityExecutor(int threads, long aging, ThreadFactory factory, int process) {
+    this(threads, new LevelQueue(aging), factory, process);
+  }
+
+  /** {@inheritDoc} */
+  private PriorityExecutor(int threads, LevelQueue queue, ThreadFactory factory, int process) {
+    super(threads, threads, 30L, TimeUnit.SECONDS, queue, factory);
+    mQueue = queue; mProcess = process; allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * @param command  the runnable task
+   * @param priority task priority
+   */
+  public final void execute(Runnable command, Priority priority) {
+    if (command == null || priority == null) throw new NullPointerException();
+    super.execute(new Job(command, priority));
+  }
+
+  /**
+   * @param task     the task to submit
+   * @param priority task priority
+   * @param <T>      the type of the task's result
+   *
+   * @return a future representing pending completion of the task
+   */
+  public final <T> Future<T> submit(Callable<T> task, Priority priority) {
+    if (task == null) throw new NullPointerException();
+    final RunnableFuture<T> result = newTaskFor(task);
+    execute(result, priority); return result;
+  }
+
+  /**
+   * @param task     the task to submit
+   * @param priority task priority
+   *
+   * @return a future representing pending completion of the task
+   */
+  public final Future<?> submit(Runnable task, Priority priority) {
+    if (task == null) throw new NullPointerException();
+    final RunnableFuture<Void> result = newTaskFor(task, null);
+    execute(result, priority); return result;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void execute(Runnable command) {execute(command, inherited());}
+
+  /** @return priority of tasks, submitted without explicit one */
+  private static Priority inherited() {
+    return ExecutorServices.isMainThread() ? Priority.USER_VISIBLE : Priority.BACKGROUND;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final void beforeExecute(Thread thread, Runnable runnable) {
+    super.beforeExecute(thread, runnable);
+    final Job job = (Job) runnable; final int process = job.mPriority.process;
+    if (process < mProcess) job.mRestore = AndroidThread.boost(process);
+    else if (process > mProcess) AndroidThread.process(process);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final void afterExecute(Runnable runnable, Throwable throwable) {
+    final Job job = (Job) runnable; final int process = job.mPriority.process;
+    if (process < mProcess) AndroidThread.restore(job.mRestore);
+    else if (process > mProcess) AndroidThread.process(mProcess);
+    super.afterExecute(runnable, throwable);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final List<Runnable> shutdownNow() {
+    final List<Runnable> result = super.shutdownNow();
+    for (int i = 0; i < result.size(); i++) result.set(i, ((Job) result.get(i)).mTask);
+    return result;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void counters(ObjLongConsumer<String> sink) {
+    sink.accept("threads.active", getActiveCount());
+    sink.accept("threads.pool", getPoolSize());
+    sink.accept("threads.largest", getLargestPoolSize());
+    sink.accept("tasks.completed", getCompletedTaskCount());
+    mQueue.counters(sink);
+  }
+
+  /** Prioritized queue entry. */
+  private static final class Job implements Runnable {
+
+    /** Source task. */
+    final Runnable mTask;
+
+    /** Task priority. */
+    final Priority mPriority;
+
+    /** Enqueue time in nanos. */
+    long mTime;
+
+    /** Priority to restore after boost. */
+    int mRestore;
+
+    /**
+     * Constructs a new {@link Job}.
+     *
+     * @param task     source task
+     * @param priority task priority
+     */
+    Job(Runnable task, Priority priority) {mTask = task; mPriority = priority;}
+
+    /** {@inheritDoc} */
+    @Override
+    public final void run() {mTask.run();}
+  }
+
+  /** Multi-level FIFO queue with aging. */
+  private static final class LevelQueue
+    extends AbstractQueue<Runnable>
+    implements BlockingQueue<Runnable> {
+
+    /** Priority levels. */
+    private static final Priority[] LEVELS = Priority.values();
+
+    /** Main lock. */
+    private final ReentrantLock mLock = new ReentrantLock();
+
+    /** Wait condition for takes. */
+    private final Condition mNotEmpty = mLock.newCondition();
+
+    /** Per-level queues. */
+    private final ArrayDeque<Job>[] mLevels;
+
+    /** Aging interval in nanos. */
+    private final long mAging;
+
+    /** Total size. */
+    private int mSize = 0;
+
+    /** Count of tasks, that were served ahead of their level. */
+    private long mAged = 0L;
+
+    /**
+     * Constructs a new {@link LevelQueue}.
+     *
+     * @param aging aging interval in nanos
+     */
+    LevelQueue(long aging) {
+      mAging = Math.max(aging, 1L);
+      // generic arrays can't be created, the array never escapes with another element type
+      @SuppressWarnings("unchecked") final ArrayDeque<Job>[] levels =
+        (ArrayDeque<Job>[]) new ArrayDeque<?>[LEVELS.length];
+      for (int i = 0; i < levels.length; i++) levels[i] = new ArrayDeque<>();
+      mLevels = levels;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final boolean offer(Runnable runnable) {
+      final Job job = (Job) runnable; job.mTime = System.nanoTime();
+      mLock.lock();
+      try {
+        mLevels[job.mPriority.ordinal()].offerLast(job); mSize++;
+        mNotEmpty.signal(); return true;
+      } finally {mLock.unlock();}
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void put(Runnable runnable) {offer(runnable);}
+
+    /** {@inheritDoc} */
+    @Override
+    public final boolean offer(Runnable runnable, long timeout, TimeUnit unit)
+    {return offer(runnable);}
+
+    /** @return the job with the most urgent effective level or null, lock must be held */
+    private Job dequeue() {
+      if (mSize == 0) return null;
+      final long now = System.nanoTime();
+      int level = -1; long best = Long.MAX_VALUE;
+      for (int i = 0; i < mLevels.length; i++) {
+        final Job head = mLevels[i].peekFirst(); if (head == null) continue;
+        final long effective = i - (now - head.mTime) / mAging;
+        if (effective < best) {best = effective; level = i;}
+      }
+      for (int i = 0; i < level; i++) if (!mLevels[i].isEmpty()) {mAged++; break;}
+      mSize--; return mLevels[level].pollFirst();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final Runnable poll() {
+      mLock.lock();
+      try {return dequeue();}
+      finally {mLock.unlock();}
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final Runnable take() throws InterruptedException {
+      mLock.lockInterruptibly();
+      try {
+        Job result;
+        while ((result = dequeue()) == null) mNotEmpty.await();
+        return result;
+      } finally {mLock.unlock();}
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+      long nanos = unit.toNanos(timeout);
+      mLock.lockInterruptibly();
+      try {
+        Job result;
+        while ((result = dequeue()) == null) {
+          if (nanos <= 0L) return null;
+          nanos = mNotEmpty.awaitNanos(nanos);
+        }
+        return result;
+      } finally {mLock.unlock();}
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final Runnable peek() {
+      mLock.lock();
+      try {
+        for (ArrayDeque<Job> level : mLevels)
+          if (!level.isEmpty()) return level.peekFirst();
+        return null;
+      } finally {mLock.unlock();}
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final boolean remove(Object object) {
+      if (object == null) return false;
+      mLock.lock();
+      try {
+        for (ArrayDeque<Job> level : mLevels)
+          for (Iterator<Job> iterator = level.iterator(); iterator.hasNext();) {
+            final Job job = iterator.next();
+            if (job == object || job.mTask == object)
+            {iterator.remove(); mSize--; return true;}
+          }
+        return false;
+      } finally {mLock.unlock();}
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int size() {
+      mLock.lock();
+      try {return mSize;}
+      finally {mLock.unlock();}
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int remainingCapacity() {return Integer.MAX_VALUE;}
+
+    /** {@inheritDoc} */
+    @Override
+    public final Iterator<Runnable> iterator() {
+      final List<Runnable> snapshot = new ArrayList<>();
+      mLock.lock();
+      try {for (ArrayDeque<Job> level : mLevels) snapshot.addAll(level);}
+      finally {mLock.unlock();}
+      final Iterator<Runnable> iterator = snapshot.iterator();
+      return new Iterator<Runnable>() {
+
+        /** Last returned element. */
+        private Runnable mLast = null;
+
+        /** {@inheritDoc} */
+        @Override
+        public final boolean hasNext() {return iterator.hasNext();}
+
+        /** {@inheritDoc} */
+        @Override
+        public final Runnable next() {return mLast = iterator.next();}
+
+        /** {@inheritDoc} */
+        @Override
+        public final void remove() {
+          if (mLast == null) throw new IllegalStateException();
+          LevelQueue.this.remove(mLast); mLast = null;
+        }
+      };
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int drainTo(Collection<? super Runnable> collection)
+    {return drainTo(collection, Integer.MAX_VALUE);}
+
+    /** {@inheritDoc} */
+    @Override
+    public final int drainTo(Collection<? super Runnable> collection, int max) {
+      if (collection == this) throw new IllegalArgumentException();
+      mLock.lock();
+      try {
+        int result = 0; Job job;
+        while (result < max && (job = dequeue()) != null) {collection.add(job); result++;}
+        return result;
+      } finally {mLock.unlock();}
+    }
+
+    /** @param sink counters consumer (name, value) */
+    final void counters(ObjLongConsumer<String> sink) {
+      mLock.lock();
+      try {
+        for (int i = 0; i < mLevels.length; i++)
+          sink.accept("queue." + LEVELS[i].name().toLowerCase(), mLevels[i].size());
+        sink.accept("tasks.aged", mAged);
+      } finally {mLock.unlock();}
+    }
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Rejections.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saturation policies of bounded executors.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings("unused")
+public final class Rejections {
+
+  /** Non-blocking submission flag of the current thread. */
+  private static final ThreadLocal<Boolean> NOWAIT = new ThreadLocal<>();
+
+  /**
+   * The caller should be prevented from constructing objects of this class.
+   * Also, this prevents even the native class from calling this constructor.
+   **/
+  private Rejections() {throw new AssertionError();}
+
+  /**
+   * Submits without waiting for a queue slot: the blocking policies reject at once instead.
+   *
+   * @param executor target executor
+   * @param command  submitted task
+   *
+   * @throws RejectedExecutionException if there is no free slot right now
+   */
+  static void nowait(Executor executor, Runnable command) {
+    if (NOWAIT.get() != null) {executor.execute(command); return;}
+    NOWAIT.set(Boolean.TRUE);
+    try {executor.execute(command);} finally {NOWAIT.remove();}
+  }
+
+  /** @return policy, that throws {@link RejectedExecutionException} */
+  public static RejectedExecutionHandler abort()
+  {return new ThreadPoolExecutor.AbortPolicy();}
+
+  /** @return policy, that runs the task on the submitting thread, or cancels it on shutdown */
+  public static RejectedExecutionHandler callerRuns() {
+    return (runnable, executor) -> {
+      if (executor.isShutdown()) cancel(runnable); else runnable.run();
+    };
+  }
+
+  /**
+   * Dropped tasks, that are {@link Future}'s, are cancelled, so their waiters are released.
+   *
+   * @return policy, that drops the oldest queued task and retries
+   */
+  public static RejectedExecutionHandler dropOldest() {
+    return (runnable, executor) -> {
+      if (executor.isShutdown()) {cancel(runnable); return;}
+      cancel(executor.getQueue().poll()); executor.execute(runnable);
+    };
+  }
+
+  /** @param runnable dropped task, may be null */
+  private static void cancel(Runnable runnable)
+  {if (runnable instanceof Future) ((Future<?>) runnable).cancel(false);}
+
+  /**
+   * Blocking-offer back-pressure, that never stalls the main thread: running or waiting there
+   * would freeze the ui, so main-thread submissions fail fast instead.
+   *
+   * @param time maximum time to wait for a queue slot
+   * @param unit time unit
+   *
+   * @return policy, that throws {@link RejectedExecutionException} on the main thread and
+   * blocks other submitting threads until a queue slot is free
+   */
+  public static RejectedExecutionHandler backpressure(long time, TimeUnit unit) {
+    final RejectedExecutionHandler block = block(time, unit);
+    return (runnable, executor) -> {
+      if (ExecutorServices.isMainThread())
+        throw new RejectedExecutionException("Queue is full, main thread is never blocked");
+      block.rejectedExecution(runnable, executor);
+    };
+  }
+
+  /**
+   * @param time maximum time to wait for a queue slot
+   * @param unit time unit
+   *
+   * @return policy, that blocks the submitting thread until a queue slot is free,
+   * unless it submits via {@link #nowait(Executor, Runnable)}
+   */
+  public static RejectedExecutionHandler block(long time, TimeUnit unit) {
+    final long nanos = unit.toNanos(time); return (runnable, executor) -> {
+      if (executor.isShutdown())
+        throw new RejectedExecutionException("Executor already shutdown");
+      final long wait = NOWAIT.get() != null ? 0L : nanos;
+      try {
+        if (!executor.getQueue().offer(runnable, wait, TimeUnit.NANOSECONDS))
+          throw new RejectedExecutionException("Queue is full");
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+        throw new RejectedExecutionException(exception);
+      }
+    };
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Scratch.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Per-thread scratch object.
+ * <p>
+ * Executor threads of this module carry a fixed array of scratch slots, so borrowing is a plain
+ * field access. Any other thread, or a slot beyond {@link #SLOTS}, falls back to a
+ * {@link ThreadLocal}. A nested borrow on the same thread gets a fresh instance.
+ *
+ * <pre>{@code
+ * static final Scratch<Buffer> BUFFER = Scratch.of(Buffer::new, b -> {b.clear(); return true;});
+ *
+ * final Buffer buffer = BUFFER.borrow();
+ * try {write(buffer);} finally {BUFFER.release(buffer);}
+ * }</pre>
+ *
+ * @param <T> type of scratch object
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings("unused")
+public final class Scratch<T> {
+
+  /** Count of field-based slots per thread. */
+  static final int SLOTS = 16;
+
+  /** Slot index sequence. */
+  private static final AtomicInteger INDEX = new AtomicInteger();
+
+  /** Shared string builders up to 8K chars. */
+  public static final Scratch<StringBuilder> BUILDER = of(() -> new StringBuilder(256),
+    builder -> {builder.setLength(0); return builder.capacity() <= 8192;});
+
+  /** Shared 8K byte arrays. */
+  public static final Scratch<byte[]> BYTES = of(() -> new byte[8192], bytes -> true);
+
+  /** Slot index, or -1 for {@link ThreadLocal}-only slot. */
+  private final int mIndex;
+
+  /** Instance factory. */
+  private final Supplier<T> mFactory;
+
+  /** Instance reset, returns false if it isn't worth keeping. */
+  private final Predicate<T> mRecycle;
+
+  /** Fallback slot. */
+  private final ThreadLocal<T> mLocal = new ThreadLocal<>();
+
+  /**
+   * Constructs a new {@link Scratch}.
+   *
+   * @param factory instance factory
+   * @param recycle instance reset, returns false if it isn't worth keeping
+   */
+  private Scratch(Supplier<T> factory, Predicate<T> recycle) {
+    final int index = INDEX.getAndIncrement();
+    mIndex = index < SLOTS ? index : -1; mFactory = factory; mRecycle = recycle;
+  }
+
+  /**
+   * @param factory instance factory
+   * @param recycle instance reset, returns false if it isn't worth keeping
+   * @param <T>     type of scratch object
+   *
+   * @return new scratch slot, usually kept in a static field
+   */
+  public static <T> Scratch<T> of(Supplier<T> factory, Predicate<T> recycle) {
+    if (factory == null || recycle == null) throw new NullPointerException();
+    return new Scratch<>(factory, recycle);
+  }
+
+  /** @return the cached instance of the current thread or a new one */
+  @SuppressWarnings("unchecked")
+  public final T borrow() {
+    final Object[] slots = mIndex < 0 ? null : AndroidThread.scratch();
+    final T result;
+    if (slots != null) {result = (T) slots[mIndex]; slots[mIndex] = null;}
+    else {result = mLocal.get(); if (result != null) mLocal.set(null);}
+    return result != null ? result : mFactory.get();
+  }
+
+  /** @param value borrowed instance, that mustn't be used after release */
+  public final void release(T value) {
+    if (value == null || !mRecycle.test(value)) return;
+    final Object[] slots = mIndex < 0 ? null : AndroidThread.scratch();
+    if (slots != null) slots[mIndex] = value; else mLocal.set(value);
+  }
+}
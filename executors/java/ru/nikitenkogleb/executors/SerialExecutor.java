@@ -0,0 +1,153 @@
+/*
+ * SerialExecutor.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Serial executor (strand) over a shared pool.
+ * <p>
+ * Tasks run in FIFO order and never overlap, yet no thread is owned: the strand occupies
+ * at most one pool thread at a time and yields it back after {@link #QUANTUM} tasks,
+ * so strands share the pool fairly. The yield never waits for a pool slot: a full pool keeps
+ * the strand draining on its current thread.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+final class SerialExecutor implements Executor, Runnable, Metered {
+
+  /** Tasks per pool slot. */
+  static final int QUANTUM = 16;
+
+  /** Drain states. */
+  private static final int
+    IDLE = 0,
+    SCHEDULED = 1;
+
+  /** Drain state updater. */
+  private static final
+  AtomicIntegerFieldUpdater<SerialExecutor> STATE_UPDATER =
+    AtomicIntegerFieldUpdater.newUpdater(SerialExecutor.class, "mState");
+
+  /** Pending tasks. */
+  private final ConcurrentLinkedQueue<Runnable> mQueue = new ConcurrentLinkedQueue<>();
+
+  /** Queue depth. */
+  private final AtomicInteger mDepth = new AtomicInteger();
+
+  /** Shared pool. */
+  private final Executor mPool;
+
+  /** Drain state. */
+  private volatile int mState = IDLE;
+
+  /** Maximum observed queue depth. */
+  private volatile int mMaxDepth = 0;
+
+  /**
+   * Constructs a new {@link SerialExecutor}.
+   *
+   * @param pool shared pool
+   */
+  SerialExecutor(Executor pool) {mPool = pool;}
+
+  /** {@inheritDoc} */
+  @Override
+  public final void execute(Runnable command) {
+    if (command == null) throw new NullPointerException();
+    mQueue.offer(command);
+    final int depth = mDepth.incrementAndGet(); if (depth > mMaxDepth) mMaxDepth = depth;
+    if (!STATE_UPDATER.compareAndSet(this, IDLE, SCHEDULED)) return;
+    try {schedule();}
+    catch (RejectedExecutionException exception)
+    {if (mQueue.remove(command)) mDepth.decrementAndGet(); throw exception;}
+  }
+
+  /** Submits the drain to the pool. */
+  private void schedule() {
+    try {mPool.execute(this);}
+    catch (RejectedExecutionException exception)
+    {STATE_UPDATER.set(this, IDLE); throw exception;}
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void run() {
+    boolean released = false;
+    try {
+      do {
+        Runnable task;
+        for (int i = 0; i < QUANTUM && (task = mQueue.poll()) != null; i++)
+        {mDepth.decrementAndGet(); task.run();}
+      } while (!(released = release()));
+    } finally {if (!released && !release()) abandon();}
+  }
+
+  /**
+   * Goes idle or re-submits the drain, without waiting for a pool slot.
+   *
+   * @return false if the pool is full, so the drain has to go on inline
+   */
+  private boolean release() {
+    if (mQueue.isEmpty()) {
+      STATE_UPDATER.set(this, IDLE);
+      if (mQueue.isEmpty() || !STATE_UPDATER.compareAndSet(this, IDLE, SCHEDULED)) return true;
+    }
+    try {Rejections.nowait(mPool, this); return true;}
+    catch (RejectedExecutionException exception) {return false;}
+  }
+
+  /** Cancels the tasks, stranded by a failed task on a full pool, and goes idle. */
+  private void abandon() {
+    do {
+      for (Runnable task; (task = mQueue.poll()) != null; ) {
+        mDepth.decrementAndGet();
+        if (task instanceof Future) ((Future<?>) task).cancel(false);
+      }
+      STATE_UPDATER.set(this, IDLE);
+    } while (!mQueue.isEmpty() && STATE_UPDATER.compareAndSet(this, IDLE, SCHEDULED));
+  }
+
+  /** @return count of pending tasks */
+  final int depth() {return mDepth.get();}
+
+  /** @return true if strand has neither pending nor running tasks */
+  final boolean idle() {return mState == IDLE && mQueue.isEmpty();}
+
+  /** {@inheritDoc} */
+  @Override
+  public final void counters(ObjLongConsumer<String> sink) {
+    sink.accept("queue.depth", mDepth.get());
+    sink.accept("queue.max", mMaxDepth);
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * SharedExecutor.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Non-shutdownable view of a process-wide shared {@link ExecutorService}.
+ * <p>
+ * Like the common {@link java.util.concurrent.ForkJoinPool}, shutdown requests have no effect.
+ * The view doesn't own the delegate: it never reports shutdown or termination.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings("NullableProblems")
+class SharedExecutor implements ExecutorService, Metered {
+
+  /** Shared executor. */
+  private final ExecutorService mDelegate;
+
+  /**
+   * Constructs a new {@link SharedExecutor}.
+   *
+   * @param delegate shared executor
+   */
+  SharedExecutor(ExecutorService delegate) {mDelegate = delegate;}
+
+  /** {@inheritDoc} */
+  @Override
+  public final void execute(Runnable command) {mDelegate.execute(command);}
+
+  /** {@inheritDoc} */
+  @Override
+  public final void shutdown() {}
+
+  /** {@inheritDoc} */
+  @Override
+  public final List<Runnable> shutdownNow() {return Collections.emptyList();}
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isShutdown() {return false;}
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isTerminated() {return false;}
+
+  /**
+   * The shared executor is never shut down through this view, so there is nothing to await.
+   *
+   * @return always false, immediately and regardless of the delegate's state
+   */
+  @Override
+  public final boolean awaitTermination(long timeout, TimeUnit unit) {return false;}
+
+  /** {@inheritDoc} */
+  @Override
+  public final <T> Future<T> submit(Callable<T> task) {return mDelegate.submit(task);}
+
+  /** {@inheritDoc} */
+  @Override
+  public final <T> Future<T> submit(Runnable task, T result)
+  {return mDelegate.submit(task, result);}
+
+  /** {@inheritDoc} */
+  @Override
+  public final Future<?> submit(Runnable task) {return mDelegate.submit(task);}
+
+  /** {@inheritDoc} */
+  @Override
+  public final <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks)
+    throws InterruptedException {return mDelegate.invokeAll(tasks);}
+
+  /** {@inheritDoc} */
+  @Override
+  public final <T> List<Future<T>> invokeAll
+  (Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+    throws InterruptedException {return mDelegate.invokeAll(tasks, timeout, unit);}
+
+  /** {@inheritDoc} */
+  @Override
+  public final <T> T invokeAny(Collection<? extends Callable<T>> tasks)
+    throws InterruptedException, ExecutionException {return mDelegate.invokeAny(tasks);}
+
+  /** {@inheritDoc} */
+  @Override
+  public final <T> T invokeAny
+  (Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+    throws InterruptedException, ExecutionException, TimeoutException
+  {return mDelegate.invokeAny(tasks, timeout, unit);}
+
+  /** {@inheritDoc} */
+  @Override
+  public final void counters(ObjLongConsumer<String> sink) {
+    if (mDelegate instanceof Metered) ((Metered) mDelegate).counters(sink);
+  }
+
+  /** Non-shutdownable view of a shared {@link ScheduledExecutorService}. */
+  static final class Scheduled extends SharedExecutor implements ScheduledExecutorService {
+
+    /** Shared scheduled executor. */
+    private final ScheduledExecutorService mScheduled;
+
+    /**
+     * Constructs a new {@link Scheduled}.
+     *
+     * @param delegate shared scheduled executor
+     */
+    Scheduled(ScheduledExecutorService delegate) {super(delegate); mScheduled = delegate;}
+
+    /** {@inheritDoc} */
+    @Override
+    public final ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit)
+    {return mScheduled.schedule(command, delay, unit);}
+
+    /** {@inheritDoc} */
+    @Override
+    public final <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit)
+    {return mScheduled.schedule(callable, delay, unit);}
+
+    /** {@inheritDoc} */
+    @Override
+    public final ScheduledFuture<?> scheduleAtFixedRate
+    (Runnable command, long initial, long period, TimeUnit unit)
+    {return mScheduled.scheduleAtFixedRate(command, initial, period, unit);}
+
+    /** {@inheritDoc} */
+    @Override
+    public final ScheduledFuture<?> scheduleWithFixedDelay
+    (Runnable command, long initial, long delay, TimeUnit unit)
+    {return mScheduled.scheduleWithFixedDelay(command, initial, delay, unit);}
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Strands.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Keyed serial executors (strands), multiplexed over a shared pool.
+ * <p>
+ * Tasks of the same key run in FIFO order and never overlap, tasks of different keys run
+ * in parallel. Thousands of strands cost no threads, only their pending tasks.
+ *
+ * <pre>{@code
+ * final Strands<String> accounts = ExecutorServices.strands(ExecutorServices.sharedIO());
+ * accounts.execute(account.id, () -> sync(account));
+ * }</pre>
+ *
+ * @param <K> type of keys
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings("unused")
+public final class Strands<K> implements Metered {
+
+  /** Strands by key. */
+  private final ConcurrentHashMap<K, SerialExecutor> mStrands = new ConcurrentHashMap<>();
+
+  /** Shared pool. */
+  private final Executor mPool;
+
+  /**
+   * Constructs a new {@link Strands}.
+   *
+   * @param pool shared pool
+   */
+  Strands(Executor pool) {mPool = pool;}
+
+  /**
+   * @param key strand key
+   *
+   * @return serial executor of the key
+   */
+  public final Executor strand(K key)
+  {return mStrands.computeIfAbsent(key, k -> new SerialExecutor(mPool));}
+
+  /**
+   * @param key     strand key
+   * @param command the runnable task
+   */
+  public final void execute(K key, Runnable command) {strand(key).execute(command);}
+
+  /**
+   * @param key strand key
+   *
+   * @return count of pending tasks of the key
+   */
+  public final int depth(K key) {
+    final SerialExecutor strand = mStrands.get(key);
+    return strand != null ? strand.depth() : 0;
+  }
+
+  /**
+   * Forgets the strand of the key, if it's idle.
+   * Mustn't race with submissions of the same key, e.g. call it when the connection is closed.
+   *
+   * @param key strand key
+   *
+   * @return true if strand was removed
+   */
+  public final boolean remove(K key) {
+    final SerialExecutor strand = mStrands.get(key);
+    return strand != null && strand.idle() && mStrands.remove(key, strand);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void counters(ObjLongConsumer<String> sink) {
+    long depth = 0L, max = 0L, busy = 0L;
+    for (SerialExecutor strand : mStrands.values()) {
+      final int value = strand.depth(); depth += value;
+      if (value > max) max = value; if (!strand.idle()) busy++;
+    }
+    sink.accept("strands.count", mStrands.size());
+    sink.accept("strands.busy", busy);
+    sink.accept("queue.depth", depth);
+    sink.accept("queue.max", max);
+  }
+}
@@ -0,0 +1,299 @@
+/*
+ * TaskScope.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Structured-concurrency task scope.
+ * <p>
+ * Forks child tasks onto an executor and joins them according to the {@link Policy}.
+ * Once the policy is satisfied, or the scope is closed, every unfinished child is cancelled
+ * and its thread is interrupted (that fires {@link ExecutorServices#threadHook} listeners).
+ *
+ * <pre>{@code
+ * try (TaskScope<Page> scope = TaskScope.shutdownOnFailure(ExecutorServices.sharedIO())) {
+ *   final Future<Page> head = scope.fork(api::head), body = scope.fork(api::body);
+ *   scope.join().throwIfFailed();
+ *   return merge(head.get(), body.get());
+ * }
+ * }</pre>
+ *
+ * @param <T> type of children results
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings("unused")
+public final class TaskScope<T> implements AutoCloseable, Metered {
+
+  /** Join policies. */
+  public enum Policy {
+
+    /** Shut the scope down on the first failed child. */
+    SHUTDOWN_ON_FAILURE,
+
+    /** Shut the scope down on the first succeeded child. */
+    FIRST_SUCCESS
+  }
+
+  /** Children executor. */
+  private final Executor mExecutor;
+
+  /** Join policy. */
+  private final Policy mPolicy;
+
+  /** Open time in nanos. */
+  private final long mOpened = System.nanoTime();
+
+  /** Forked children. */
+  private final List<Child> mChildren = new ArrayList<>();
+
+  /** Unfinished children count. */
+  private int mPending = 0;
+
+  /** Counters. */
+  private long mSucceeded = 0L, mFailed = 0L, mCancelled = 0L, mBusy = 0L, mClosed = 0L;
+
+  /** First failure. */
+  private Throwable mFailure = null;
+
+  /** First success. */
+  private T mResult = null;
+
+  /** First success flag. */
+  private boolean mSuccess = false;
+
+  /** Shutdown flags. */
+  private boolean mShutdown = false, mStopped = false;
+
+  /**
+   * Constructs a new {@link TaskScope}.
+   *
+   * @param executor children executor
+   * @param policy   join policy
+   */
+  public TaskScope(Executor executor, Policy policy) {
+    if (executor == null || policy == null) throw new NullPointerException();
+    mExecutor = executor; mPolicy = policy;
+  }
+
+  /**
+   * @param executor children executor
+   * @param <T>      type of children results
+   *
+   * @return scope, that is shut down on the first failed child
+   */
+  public static <T> TaskScope<T> shutdownOnFailure(Executor executor)
+  {return new TaskScope<>(executor, Policy.SHUTDOWN_ON_FAILURE);}
+
+  /**
+   * @param executor children executor
+   * @param <T>      type of children results
+   *
+   * @return scope, that is shut down on the first succeeded child
+   */
+  public static <T> TaskScope<T> firstSuccess(Executor executor)
+  {return new TaskScope<>(executor, Policy.FIRST_SUCCESS);}
+
+  /**
+   * @param task child task
+   *
+   * @return child future, already cancelled if the scope was shut down
+   *
+   * @throws RejectedExecutionException if the executor rejected the child, the child is
+   *                                    then failed with the same exception
+   */
+  public final Future<T> fork(Callable<? extends T> task) {
+    if (task == null) throw new NullPointerException();
+    final Child result = new Child(task);
+    synchronized (this) {
+      if (mClosed != 0L) throw new IllegalStateException("Scope already closed");
+      if (!mShutdown) {result.mForked = true; mChildren.add(result); mPending++;}
+    }
+    if (!result.mForked) {result.cancel(false); return result;}
+    try {mExecutor.execute(result);}
+    catch (RejectedExecutionException exception) {
+      synchronized (this) {
+        if (result.mForked) {
+          result.mForked = false; mChildren.remove(result); mPending--; notifyAll();
+        }
+      }
+      result.reject(exception); throw exception;
+    }
+    return result;
+  }
+
+  /**
+   * Waits until all children are finished or the scope is shut down.
+   *
+   * @return this scope
+   *
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public final synchronized TaskScope<T> join() throws InterruptedException {
+    while (mPending != 0 && !mStopped) wait();
+    return this;
+  }
+
+  /**
+   * Waits until all children are finished or the scope is shut down.
+   *
+   * @param timeout the maximum time to wait
+   * @param unit    time unit
+   *
+   * @return this scope
+   *
+   * @throws InterruptedException if interrupted while waiting
+   * @throws TimeoutException     if the wait timed out
+   */
+  public final synchronized TaskScope<T> join(long timeout, TimeUnit unit)
+    throws InterruptedException, TimeoutException {
+    long nanos = unit.toNanos(timeout);
+    while (mPending != 0 && !mStopped) {
+      if (nanos <= 0L) throw new TimeoutException();
+      final long now = System.nanoTime();
+      TimeUnit.NANOSECONDS.timedWait(this, nanos);
+      nanos -= System.nanoTime() - now;
+    }
+    return this;
+  }
+
+  /** @throws ExecutionException if any child failed */
+  public final synchronized void throwIfFailed() throws ExecutionException
+  {if (mFailure != null) throw new ExecutionException(mFailure);}
+
+  /**
+   * @return result of the first succeeded child
+   *
+   * @throws ExecutionException if no child has succeeded
+   */
+  public final synchronized T result() throws ExecutionException {
+    if (mSuccess) return mResult;
+    throw new ExecutionException("No child has succeeded", mFailure);
+  }
+
+  /** Cancels and interrupts all unfinished children. */
+  public final void shutdown() {
+    final List<Child> children;
+    synchronized (this) {
+      if (mShutdown) return; mShutdown = true;
+      children = new ArrayList<>(mChildren);
+    }
+    for (Child child : children) child.cancel(true);
+    synchronized (this) {mStopped = true; notifyAll();}
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void close() {
+    shutdown();
+    synchronized (this) {if (mClosed == 0L) mClosed = System.nanoTime();}
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final synchronized void counters(ObjLongConsumer<String> sink) {
+    sink.accept("tasks.forked", mChildren.size());
+    sink.accept("tasks.pending", mPending);
+    sink.accept("tasks.succeeded", mSucceeded);
+    sink.accept("tasks.failed", mFailed);
+    sink.accept("tasks.cancelled", mCancelled);
+    sink.accept("time.busy.nanos", mBusy);
+    sink.accept("time.wall.nanos", (mClosed != 0L ? mClosed : System.nanoTime()) - mOpened);
+  }
+
+  /**
+   * Accounts the child once: the forked flag is cleared here, so a rejection of the same
+   * child in {@link #fork(Callable)} doesn't decrement the pending count again.
+   *
+   * @param child finished child
+   * @param time  child run time in nanos
+   */
+  private void finished(Child child, long time) {
+    boolean shutdown = false;
+    synchronized (this) {
+      if (!child.mForked) return; child.mForked = false;
+      mPending--; mBusy += time;
+      if (child.isCancelled()) mCancelled++;
+      else try {
+        final T result = child.get(); mSucceeded++;
+        if (!mSuccess) {mSuccess = true; mResult = result;}
+        shutdown = mPolicy == Policy.FIRST_SUCCESS;
+      } catch (ExecutionException exception) {
+        mFailed++; if (mFailure == null) mFailure = exception.getCause();
+        shutdown = mPolicy == Policy.SHUTDOWN_ON_FAILURE;
+      } catch (CancellationException | InterruptedException exception) {mCancelled++;}
+      notifyAll();
+    }
+    if (shutdown) shutdown();
+  }
+
+  /** Child task. */
+  private final class Child extends FutureTask<T> {
+
+    /** Forked flag, guarded by the scope. */
+    boolean mForked = false;
+
+    /** Start time in nanos, zero if not started. */
+    private volatile long mStart = 0L;
+
+    /**
+     * Constructs a new {@link Child}.
+     *
+     * @param task child task
+     */
+    Child(Callable<? extends T> task) {super(task::call);}
+
+    /** {@inheritDoc} */
+    @Override
+    public final void run() {
+      if (mStart == 0L) mStart = System.nanoTime();
+      super.run();
+    }
+
+    /** @param exception rejection of the child */
+    final void reject(Throwable exception) {setException(exception);}
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void done() {
+      final long start = mStart;
+      finished(this, start != 0L ? System.nanoTime() - start : 0L);
+    }
+  }
+}
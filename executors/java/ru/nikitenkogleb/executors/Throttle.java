@@ -0,0 +1,162 @@
+/*
+ * Throttle.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission strategy of a throttled executor.
+ * <p>
+ * A throttle keeps state, so each instance serves a single executor:
+ * use {@link Throttles} with a factory for per-key limits.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings({ "unused", "WeakerAccess", "RedundantSuppression" })
+public abstract class Throttle {
+
+  /** Wait for a {@link #release()}. */
+  static final long RELEASE = -1L;
+
+  /** Constructs a new {@link Throttle}. */
+  Throttle() {}
+
+  /**
+   * Called by a single draining thread at a time.
+   *
+   * @param now current time in nanos
+   *
+   * @return zero if task may start, nanos to wait or {@link #RELEASE}
+   */
+  abstract long acquire(long now);
+
+  /** @return true if a waiting task may start now */
+  boolean release() {return false;}
+
+  /**
+   * @param now current time in nanos
+   *
+   * @return true if the throttle is at rest, so a fresh one would admit the same
+   */
+  abstract boolean idle(long now);
+
+  /**
+   * @param rate  permits per second
+   * @param burst maximum of permits, granted at once
+   *
+   * @return token bucket, that allows bursts up to the given size
+   */
+  public static Throttle tokens(double rate, int burst) {
+    if (!(rate > 0.0) || burst <= 0) throw new IllegalArgumentException();
+    final long interval = (long) (TimeUnit.SECONDS.toNanos(1L) / rate);
+    return new Bucket(interval, interval * (burst - 1));
+  }
+
+  /**
+   * @param rate permits per second
+   *
+   * @return leaky bucket, that spaces tasks evenly, without bursts
+   */
+  public static Throttle leaky(double rate) {return tokens(rate, 1);}
+
+  /**
+   * @param permits maximum of concurrently running tasks
+   *
+   * @return concurrency limit
+   */
+  public static Throttle concurrency(int permits) {
+    if (permits <= 0) throw new IllegalArgumentException();
+    return new Semaphore(permits);
+  }
+
+  /** Bucket as a meter: the generic cell rate algorithm. */
+  private static final class Bucket extends Throttle {
+
+    /** Emission interval in nanos. */
+    private final long mInterval;
+
+    /** Burst tolerance in nanos. */
+    private final long mTolerance;
+
+    /** Theoretical arrival time in nanos. */
+    private volatile long mArrival = Long.MIN_VALUE;
+
+    /**
+     * Constructs a new {@link Bucket}.
+     *
+     * @param interval  emission interval in nanos
+     * @param tolerance burst tolerance in nanos
+     */
+    Bucket(long interval, long tolerance) {mInterval = interval; mTolerance = tolerance;}
+
+    /** {@inheritDoc} */
+    @Override
+    final long acquire(long now) {
+      final long arrival = mArrival == Long.MIN_VALUE || mArrival - now < 0L ? now : mArrival;
+      final long wait = arrival - now - mTolerance;
+      if (wait > 0L) return wait;
+      mArrival = arrival + mInterval; return 0L;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    final boolean idle(long now) {
+      final long arrival = mArrival;
+      return arrival == Long.MIN_VALUE || arrival - now <= 0L;
+    }
+  }
+
+  /** Concurrency limit. */
+  private static final class Semaphore extends Throttle {
+
+    /** Free permits. */
+    private final AtomicInteger mPermits;
+
+    /** Maximum of permits. */
+    private final int mMax;
+
+    /** @param permits maximum of concurrently running tasks */
+    Semaphore(int permits) {mPermits = new AtomicInteger(mMax = permits);}
+
+    /** {@inheritDoc} */
+    @Override
+    final long acquire(long now) {
+      for (int permits; (permits = mPermits.get()) > 0; )
+        if (mPermits.compareAndSet(permits, permits - 1)) return 0L;
+      return RELEASE;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    final boolean release() {return mPermits.getAndIncrement() == 0;}
+
+    /** {@inheritDoc} */
+    @Override
+    final boolean idle(long now) {return mPermits.get() == mMax;}
+  }
+}
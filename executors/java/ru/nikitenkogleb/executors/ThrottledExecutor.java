@@ -0,0 +1,264 @@
+/*
+ * ThrottledExecutor.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Rate-limiting {@link ExecutorService} decorator.
+ * <p>
+ * Excess tasks are queued, never blocking the caller, and dispatched in order, as the
+ * {@link Throttle} admits them: on the timer for rates, on task completion for concurrency.
+ * Admitted tasks are handed off without waiting for a queue slot, a full source executor keeps
+ * them queued here and retried on the timer. Admitted tasks, that the shut down source
+ * executor rejects, are thrown to the submitter, when dispatched from its own
+ * {@link #execute(Runnable)} call, otherwise go to the rejection handler,
+ * {@link Future}'s are cancelled before.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings("NullableProblems")
+final class ThrottledExecutor extends AbstractExecutorService implements Metered {
+
+  /** Retry delay of a full source executor in nanos. */
+  private static final long RETRY = TimeUnit.MILLISECONDS.toNanos(10L);
+
+  /** Rejections log. */
+  private static final Logger LOGGER = Logger.getLogger(ThrottledExecutor.class.getName());
+
+  /** Source executor. */
+  private final ExecutorService mDelegate;
+
+  /** Admission strategy. */
+  private final Throttle mThrottle;
+
+  /** Drain timer. */
+  private final ScheduledExecutorService mTimer;
+
+  /** Rejection handler. */
+  private final Consumer<? super Runnable> mRejection;
+
+  /** Waiting tasks. */
+  private final ConcurrentLinkedDeque<Pending> mQueue = new ConcurrentLinkedDeque<>();
+
+  /** Drain requests. */
+  private final AtomicInteger mWip = new AtomicInteger();
+
+  /** Pending timer drain. */
+  private final AtomicBoolean mArmed = new AtomicBoolean();
+
+  /** Delegate shutdown signal. */
+  private final CountDownLatch mDrained = new CountDownLatch(1);
+
+  /** Throttle wait. */
+  private final Histogram mWait = new Histogram();
+
+  /** Counters. */
+  private final LongAdder
+    mThrottled = new LongAdder(),
+    mRejected = new LongAdder();
+
+  /** Count of waiting tasks. */
+  private final AtomicInteger mDepth = new AtomicInteger();
+
+  /** Shutdown flag. */
+  private volatile boolean mShutdown = false;
+
+  /** Timer drain task. */
+  private final Runnable mAlarm = () -> {mArmed.set(false); drain();};
+
+  /**
+   * Constructs a new {@link ThrottledExecutor}.
+   *
+   * @param delegate source executor
+   * @param throttle admission strategy
+   * @param timer    drain timer
+   * @param rejected handler of admitted tasks, rejected by the source executor
+   */
+  ThrottledExecutor(ExecutorService delegate, Throttle throttle, ScheduledExecutorService timer,
+                    Consumer<? super Runnable> rejected)
+  {mDelegate = delegate; mThrottle = throttle; mTimer = timer; mRejection = rejected;}
+
+  /**
+   * Default rejection handler, that logs plain tasks, since there's no caller to throw to.
+   * The dispatching thread may be the main thread or a shared pool worker, so it never throws.
+   *
+   * @param task rejected task
+   */
+  static void dropped(Runnable task)
+  {if (!(task instanceof Future)) LOGGER.log(Level.WARNING, "Throttled task dropped: " + task);}
+
+  /** {@inheritDoc} */
+  @Override
+  public final void execute(Runnable command) {
+    if (command == null) throw new NullPointerException();
+    if (mShutdown) throw new RejectedExecutionException("Executor was shut down");
+    final Pending pending = new Pending(command);
+    mQueue.offer(pending); mDepth.incrementAndGet(); drain(); pending.mCaller = null;
+    if (pending.mRejected) throw new RejectedExecutionException("Executor was shut down");
+    if (!pending.mDispatched) mThrottled.increment();
+  }
+
+  /** Dispatches admitted tasks, a single thread at a time. */
+  private void drain() {
+    if (mWip.getAndIncrement() != 0) return;
+    for (int missed = 1; missed != 0; missed = mWip.addAndGet(-missed)) {
+      for (Pending pending; (pending = mQueue.peek()) != null; ) {
+        final long now = System.nanoTime(), wait = mThrottle.acquire(now);
+        if (wait != 0L) {if (wait > 0L) arm(wait); break;}
+        if ((pending = mQueue.poll()) == null) {mThrottle.release(); break;}
+        if (!dispatch(pending, now))
+        {mQueue.offerFirst(pending); mThrottle.release(); arm(RETRY); break;}
+        mDepth.decrementAndGet();
+      }
+      if (mShutdown && mQueue.isEmpty() && mDrained.getCount() != 0L)
+      {mDelegate.shutdown(); mDrained.countDown();}
+    }
+  }
+
+  /** @param delay nanos before the timer drain */
+  private void arm(long delay)
+  {if (mArmed.compareAndSet(false, true)) mTimer.schedule(mAlarm, delay, TimeUnit.NANOSECONDS);}
+
+  /**
+   * @param pending admitted task
+   * @param now     current time in nanos
+   *
+   * @return false if the running source executor has no free slot right now
+   */
+  private boolean dispatch(Pending pending, long now) {
+    try {Rejections.nowait(mDelegate, pending);}
+    catch (RejectedExecutionException exception) {
+      if (!mDelegate.isShutdown()) return false;
+      mRejected.increment(); pending.release();
+      if (pending.mCaller == Thread.currentThread()) {pending.mRejected = true; return true;}
+      if (pending.mTask instanceof Future) ((Future<?>) pending.mTask).cancel(false);
+      try {mRejection.accept(pending.mTask);}
+      catch (Throwable throwable) {if (throwable instanceof Error) throw (Error) throwable;}
+      return true;
+    }
+    mWait.record(now - pending.mTime); pending.mDispatched = true; return true;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void shutdown() {mShutdown = true; drain();}
+
+  /** {@inheritDoc} */
+  @Override
+  public final List<Runnable> shutdownNow() {
+    mShutdown = true; final List<Runnable> result = new ArrayList<>();
+    for (Pending pending; (pending = mQueue.poll()) != null; )
+    {mDepth.decrementAndGet(); result.add(pending.mTask);}
+    result.addAll(mDelegate.shutdownNow()); drain(); return result;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isShutdown() {return mShutdown;}
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isTerminated()
+  {return mDrained.getCount() == 0L && mDelegate.isTerminated();}
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean awaitTermination(long time, TimeUnit unit) throws InterruptedException {
+    final long deadline = System.nanoTime() + unit.toNanos(time);
+    return mDrained.await(time, unit) &&
+      mDelegate.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+  }
+
+  /** @return count of waiting tasks */
+  final int depth() {return mDepth.get();}
+
+  /** @return true if there are neither waiting nor admitted tasks, and the throttle rests */
+  final boolean idle()
+  {return mQueue.isEmpty() && mWip.get() == 0 && mThrottle.idle(System.nanoTime());}
+
+  /** @return count of tasks, that were queued on submission */
+  final long throttled() {return mThrottled.sum();}
+
+  /** @return count of admitted tasks, rejected by the source executor */
+  final long rejected() {return mRejected.sum();}
+
+  /** {@inheritDoc} */
+  @Override
+  public final void counters(ObjLongConsumer<String> sink) {
+    sink.accept("queue.throttled", mDepth.get());
+    sink.accept("tasks.throttled", mThrottled.sum());
+    sink.accept("tasks.rejected", mRejected.sum());
+    mWait.snapshot().counters("throttle.nanos", sink);
+    if (mDelegate instanceof Metered) ((Metered) mDelegate).counters(sink);
+  }
+
+  /** Waiting task. */
+  private final class Pending implements Runnable {
+
+    /** Source task. */
+    final Runnable mTask;
+
+    /** Enqueue time in nanos. */
+    final long mTime = System.nanoTime();
+
+    /** Dispatch flag. */
+    volatile boolean mDispatched = false;
+
+    /** Rejection flag, to be thrown to the submitter. */
+    volatile boolean mRejected = false;
+
+    /** Submitting thread, until its {@link #execute(Runnable)} returns. */
+    volatile Thread mCaller = Thread.currentThread();
+
+    /** @param task source task */
+    Pending(Runnable task) {mTask = task;}
+
+    /** {@inheritDoc} */
+    @Override
+    public final void run() {try {mTask.run();} finally {release();}}
+
+    /** Returns the permit. */
+    final void release() {if (mThrottle.release()) drain();}
+  }
+}
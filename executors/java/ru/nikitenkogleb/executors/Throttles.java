@@ -0,0 +1,147 @@
+/*
+ * Throttles.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Keyed throttled executors over a shared executor, e.g. per-host limits.
+ *
+ * <pre>{@code
+ * final Throttles<String> hosts = ExecutorServices.throttles
+ *   (ExecutorServices.sharedIO(), () -> Throttle.tokens(10.0, 5));
+ * hosts.execute(url.getHost(), () -> fetch(url));
+ * }</pre>
+ *
+ * @param <K> type of keys
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings("unused")
+public final class Throttles<K> implements Metered {
+
+  /** Throttled executors by key. */
+  private final ConcurrentHashMap<K, ThrottledExecutor> mExecutors = new ConcurrentHashMap<>();
+
+  /** Shared executor. */
+  private final ExecutorService mDelegate;
+
+  /** Throttle factory. */
+  private final Supplier<Throttle> mThrottles;
+
+  /** Drain timer. */
+  private final ScheduledExecutorService mTimer;
+
+  /** Rejection handler. */
+  private final Consumer<? super Runnable> mRejected;
+
+  /**
+   * Constructs a new {@link Throttles}.
+   *
+   * @param delegate  shared executor
+   * @param throttles throttle factory
+   * @param timer     drain timer
+   * @param rejected  handler of admitted tasks, rejected by the shared executor
+   */
+  Throttles(ExecutorService delegate, Supplier<Throttle> throttles,
+            ScheduledExecutorService timer, Consumer<? super Runnable> rejected)
+  {mDelegate = delegate; mThrottles = throttles; mTimer = timer; mRejected = rejected;}
+
+  /**
+   * @param key limit key
+   *
+   * @return throttled executor of the key
+   */
+  public final Executor get(K key) {
+    return mExecutors.computeIfAbsent
+      (key, k -> new ThrottledExecutor(mDelegate, mThrottles.get(), mTimer, mRejected));
+  }
+
+  /**
+   * @param key     limit key
+   * @param command the runnable task
+   */
+  public final void execute(K key, Runnable command) {get(key).execute(command);}
+
+  /**
+   * @param key  limit key
+   * @param sink counters consumer (name, value), including the throttle-wait histogram
+   */
+  public final void counters(K key, ObjLongConsumer<String> sink) {
+    final ThrottledExecutor executor = mExecutors.get(key);
+    if (executor != null) executor.counters(sink);
+  }
+
+  /**
+   * Forgets the executor of the key, if it's idle and its throttle is at rest.
+   * Mustn't race with submissions of the same key, e.g. call it when the host is dropped.
+   *
+   * @param key limit key
+   *
+   * @return true if executor was removed
+   */
+  public final boolean remove(K key) {
+    final ThrottledExecutor executor = mExecutors.get(key);
+    return executor != null && executor.idle() && mExecutors.remove(key, executor);
+  }
+
+  /**
+   * Forgets executors of all idle keys, e.g. periodically for high-cardinality keys.
+   * A submission, that races with the removal of its key, still runs, but isn't limited
+   * together with the later ones of the same key.
+   *
+   * @return count of removed executors
+   */
+  public final int purge() {
+    int result = 0;
+    for (Map.Entry<K, ThrottledExecutor> entry : mExecutors.entrySet())
+      if (entry.getValue().idle() && mExecutors.remove(entry.getKey(), entry.getValue()))
+        result++;
+    return result;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void counters(ObjLongConsumer<String> sink) {
+    long depth = 0L, throttled = 0L, rejected = 0L;
+    for (ThrottledExecutor executor : mExecutors.values()) {
+      depth += executor.depth();
+      throttled += executor.throttled(); rejected += executor.rejected();
+    }
+    sink.accept("throttles.count", mExecutors.size());
+    sink.accept("queue.throttled", depth);
+    sink.accept("tasks.throttled", throttled);
+    sink.accept("tasks.rejected", rejected);
+  }
+}
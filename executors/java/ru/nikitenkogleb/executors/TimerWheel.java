@@ -0,0 +1,424 @@
+/*
+ * TimerWheel.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Hashed timing-wheel {@link ScheduledExecutorService}.
+ * <p>
+ * Insertion and cancellation are O(1): both only enqueue the timeout into a lock-free queue,
+ * which the ticker thread applies to the wheel once per tick. Expired timeouts are dispatched
+ * onto the target executor, so the precision is one tick and the ticker runs user code only
+ * if the target runs it inline.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings("NullableProblems")
+final class TimerWheel
+  extends AbstractExecutorService
+  implements ScheduledExecutorService, Metered {
+
+  /** Maximum count of timeouts, transferred to the wheel per tick. */
+  private static final int TRANSFER_LIMIT = 100000;
+
+  /** New and re-armed timeouts. */
+  private final ConcurrentLinkedQueue<Timeout<?>> mPending = new ConcurrentLinkedQueue<>();
+
+  /** Cancelled timeouts. */
+  private final ConcurrentLinkedQueue<Timeout<?>> mCancelled = new ConcurrentLinkedQueue<>();
+
+  /** Counters. */
+  private final LongAdder
+    mScheduled = new LongAdder(),
+    mExpired = new LongAdder(),
+    mCancels = new LongAdder();
+
+  /** Dispatch executor. */
+  private final Executor mTarget;
+
+  /** Tick duration in nanos. */
+  private final long mTick;
+
+  /** Wheel buckets. */
+  private final Bucket[] mWheel;
+
+  /** Wheel mask. */
+  private final int mMask;
+
+  /** Time origin in nanos. */
+  private final long mOrigin = System.nanoTime();
+
+  /** Ticker thread. */
+  private final Thread mTicker;
+
+  /** Shutdown flag. */
+  private volatile boolean mShutdown = false;
+
+  /** Parked flag of the idle ticker. */
+  private volatile boolean mIdle = false;
+
+  /** Timeouts, cancelled by the terminated ticker. */
+  private volatile List<Runnable> mDrained = null;
+
+  /** Current tick, confined to the ticker. */
+  private long mTicks = 0L;
+
+  /** Count of timeouts on the wheel, confined to the ticker. */
+  private int mSize = 0;
+
+  /**
+   * Constructs a new {@link TimerWheel}.
+   *
+   * @param target  dispatch executor
+   * @param tick    tick duration in nanos
+   * @param wheel   count of buckets, rounded up to a power of two
+   * @param factory ticker thread factory
+   */
+  TimerWheel(Executor target, long tick, int wheel, ThreadFactory factory) {
+    if (tick <= 0L || wheel <= 0) throw new IllegalArgumentException();
+    mTarget = target; mTick = tick;
+    final int size = Integer.highestOneBit(Math.min(wheel, 1 << 30) * 2 - 1);
+    mWheel = new Bucket[size]; mMask = size - 1;
+    for (int i = 0; i < size; i++) mWheel[i] = new Bucket();
+    (mTicker = factory.newThread(this::tick)).start();
+  }
+
+  /** @return nanos since the origin */
+  private long now() {return System.nanoTime() - mOrigin;}
+
+  /**
+   * @param delay relative delay
+   * @param unit  time unit
+   *
+   * @return deadline in nanos since the origin
+   */
+  private long deadline(long delay, TimeUnit unit) {
+    final long now = now(), nanos = unit.toNanos(Math.max(delay, 0L));
+    return nanos >= Long.MAX_VALUE - now ? Long.MAX_VALUE : now + nanos;
+  }
+
+  /**
+   * @param timeout new timeout
+   * @param <T>     type of timeout
+   *
+   * @return the same timeout
+   */
+  private <T extends Timeout<?>> T enqueue(T timeout) {
+    if (mShutdown) throw new RejectedExecutionException("Executor already shutdown");
+    offer(timeout); mScheduled.increment(); return timeout;
+  }
+
+  /**
+   * Re-checks the shutdown flag after the offer, so the terminating ticker either drains the
+   * timeout, or the timeout is cancelled here.
+   *
+   * @param timeout new or re-armed timeout
+   */
+  private void offer(Timeout<?> timeout) {
+    mPending.offer(timeout);
+    if (mShutdown) timeout.cancel(false); else if (mIdle) LockSupport.unpark(mTicker);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void execute(Runnable command) {schedule(command, 0L, TimeUnit.NANOSECONDS);}
+
+  /** {@inheritDoc} */
+  @Override
+  public final ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+    return enqueue(new Timeout<>(Executors.callable(command), deadline(delay, unit), 0L));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+    if (callable == null) throw new NullPointerException();
+    return enqueue(new Timeout<>(callable, deadline(delay, unit), 0L));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final ScheduledFuture<?> scheduleAtFixedRate
+  (Runnable command, long initial, long period, TimeUnit unit) {
+    if (period <= 0L) throw new IllegalArgumentException("period <= 0");
+    return enqueue(new Timeout<>(Executors.callable(command, null),
+      deadline(initial, unit), unit.toNanos(period)));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final ScheduledFuture<?> scheduleWithFixedDelay
+  (Runnable command, long initial, long delay, TimeUnit unit) {
+    if (delay <= 0L) throw new IllegalArgumentException("delay <= 0");
+    return enqueue(new Timeout<>(Executors.callable(command, null),
+      deadline(initial, unit), -unit.toNanos(delay)));
+  }
+
+  /** Ticker loop, that parks until the next submission, while the wheel is empty. */
+  private void tick() {
+    while (!mShutdown) {
+      if (mSize == 0 && mPending.isEmpty()) {
+        mCancelled.clear(); mIdle = true;
+        try {if (mPending.isEmpty() && !mShutdown) LockSupport.park(this);}
+        finally {mIdle = false;}
+        mTicks = Math.max(mTicks, now() / mTick); continue;
+      }
+      final long deadline = (mTicks + 1L) * mTick; long sleep;
+      while ((sleep = deadline - now()) > 0L && !mShutdown) LockSupport.parkNanos(this, sleep);
+      if (mShutdown) break;
+      unlinkCancelled(); transferPending();
+      expire(mWheel[(int) (mTicks & mMask)]);
+      mTicks++;
+    }
+    final List<Runnable> drained = drain();
+    for (Bucket bucket : mWheel) while (bucket.mHead != null) bucket.remove(bucket.mHead);
+    for (Timeout<?> timeout; (timeout = mPending.poll()) != null; )
+      if (timeout.cancel(false)) drained.add(timeout);
+    mCancelled.clear(); mSize = 0;
+    mDrained = drained; synchronized (this) {notifyAll();}
+  }
+
+  /**
+   * Cancels every timeout on the wheel and in the pending queue, runs on the ticker.
+   *
+   * @return cancelled timeouts
+   */
+  private List<Runnable> drain() {
+    final List<Runnable> result = new ArrayList<>();
+    for (Bucket bucket : mWheel)
+      for (Timeout<?> timeout = bucket.mHead; timeout != null; timeout = timeout.mNext)
+        if (timeout.cancel(false)) result.add(timeout);
+    for (Timeout<?> timeout : mPending) if (timeout.cancel(false)) result.add(timeout);
+    return result;
+  }
+
+  /** Removes cancelled timeouts from the wheel. */
+  private void unlinkCancelled() {
+    Timeout<?> timeout;
+    while ((timeout = mCancelled.poll()) != null)
+      if (timeout.mBucket != null) {timeout.mBucket.remove(timeout); mSize--;}
+  }
+
+  /** Moves new and re-armed timeouts onto the wheel. */
+  private void transferPending() {
+    Timeout<?> timeout;
+    for (int i = 0; i < TRANSFER_LIMIT && (timeout = mPending.poll()) != null; i++) {
+      if (timeout.isCancelled()) continue;
+      final long ticks = Math.max(timeout.mDeadline / mTick, mTicks);
+      timeout.mRounds = (ticks - mTicks) / mWheel.length;
+      mWheel[(int) (ticks & mMask)].add(timeout); mSize++;
+    }
+  }
+
+  /** @param bucket bucket of the current tick */
+  private void expire(Bucket bucket) {
+    Timeout<?> timeout = bucket.mHead;
+    while (timeout != null) {
+      final Timeout<?> next = timeout.mNext;
+      if (timeout.isCancelled()) {bucket.remove(timeout); mSize--;}
+      else if (timeout.mRounds <= 0L) {
+        bucket.remove(timeout); mSize--; mExpired.increment();
+        try {mTarget.execute(timeout);}
+        catch (RejectedExecutionException exception) {timeout.cancel(false);}
+      } else timeout.mRounds--;
+      timeout = next;
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void shutdown() {
+    mShutdown = true; LockSupport.unpark(mTicker);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Waits for the ticker to cancel the timeouts, unless called from a dispatched task.
+   */
+  @Override
+  public final List<Runnable> shutdownNow() {
+    shutdown(); if (Thread.currentThread() == mTicker) return drain();
+    boolean interrupted = false;
+    while (mTicker.isAlive())
+      try {mTicker.join();} catch (InterruptedException exception) {interrupted = true;}
+    if (interrupted) Thread.currentThread().interrupt();
+    final List<Runnable> result = mDrained;
+    return result != null ? result : new ArrayList<>();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isShutdown() {return mShutdown;}
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isTerminated() {return mShutdown && !mTicker.isAlive();}
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean awaitTermination(long time, TimeUnit unit) throws InterruptedException {
+    long nanos = unit.toNanos(time);
+    while (true) {
+      if (isTerminated()) return true;
+      else if (nanos <= 0) {return false;}
+      else {
+        final long now = System.nanoTime();
+        TimeUnit.NANOSECONDS.timedJoin(mTicker, nanos);
+        nanos -= System.nanoTime() - now;
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void counters(ObjLongConsumer<String> sink) {
+    sink.accept("timeouts.scheduled", mScheduled.sum());
+    sink.accept("timeouts.expired", mExpired.sum());
+    sink.accept("timeouts.cancelled", mCancels.sum());
+    sink.accept("queue.pending", mPending.size());
+  }
+
+  /** Wheel bucket, confined to the ticker. */
+  private static final class Bucket {
+
+    /** List ends. */
+    Timeout<?> mHead = null, mTail = null;
+
+    /** @param timeout timeout to append */
+    final void add(Timeout<?> timeout) {
+      timeout.mBucket = this;
+      if (mTail == null) mHead = mTail = timeout;
+      else {mTail.mNext = timeout; timeout.mPrev = mTail; mTail = timeout;}
+    }
+
+    /** @param timeout timeout to unlink */
+    final void remove(Timeout<?> timeout) {
+      final Timeout<?> prev = timeout.mPrev, next = timeout.mNext;
+      if (prev != null) prev.mNext = next; else mHead = next;
+      if (next != null) next.mPrev = prev; else mTail = prev;
+      timeout.mPrev = timeout.mNext = null; timeout.mBucket = null;
+    }
+  }
+
+  /**
+   * Wheel timeout.
+   *
+   * @param <V> type of result
+   */
+  private final class Timeout<V>
+    extends FutureTask<V>
+    implements RunnableScheduledFuture<V> {
+
+    /**
+     * Period in nanos.
+     * <p>
+     * A positive value indicates fixed-rate execution,
+     * a negative value indicates fixed-delay execution
+     * and a value of 0 indicates a non-repeating task.
+     */
+    private final long mPeriod;
+
+    /** Deadline in nanos since the origin. */
+    volatile long mDeadline;
+
+    /** Remaining wheel rounds, confined to the ticker. */
+    long mRounds = 0L;
+
+    /** Bucket links, confined to the ticker. */
+    Timeout<?> mPrev = null, mNext = null;
+
+    /** Owner bucket, confined to the ticker. */
+    Bucket mBucket = null;
+
+    /**
+     * Constructs a new {@link Timeout}.
+     *
+     * @param call     callable task
+     * @param deadline deadline in nanos since the origin
+     * @param period   repeat period
+     */
+    Timeout(Callable<V> call, long deadline, long period) {
+      super(call); mDeadline = deadline; mPeriod = period;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final boolean isPeriodic() {return mPeriod != 0L;}
+
+    /** {@inheritDoc} */
+    @Override
+    public final long getDelay(TimeUnit unit) {
+      return unit.convert(mDeadline - now(), TimeUnit.NANOSECONDS);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int compareTo(Delayed other) {
+      if (other == this) return 0;
+      return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void run() {
+      if (!isPeriodic()) super.run();
+      else if (!runAndReset()) return;
+      else if (mShutdown) cancel(false);
+      else {
+        mDeadline = mPeriod > 0L ? mDeadline + mPeriod : now() - mPeriod;
+        offer(this);
+      }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final boolean cancel(boolean interrupt) {
+      final boolean result = super.cancel(interrupt);
+      if (result) {mCancelled.offer(this); mCancels.increment();}
+      return result;
+    }
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * VirtualExecutor.java
+ * libraries
+ *
+ * Copyright (C) 2026, Gleb Nikitenko.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ru.nikitenkogleb.executors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread-per-task executor on virtual threads.
+ * <p>
+ * Virtual threads can't be subclassed, so the interrupt hook is kept by the running task
+ * and fired by {@link Task#cancel(boolean)} and {@link #shutdownNow()}.
+ *
+ * @author Gleb Nikitenko
+ * @since 17.10.26
+ */
+@SuppressWarnings("NullableProblems")
+final class VirtualExecutor extends AbstractExecutorService {
+
+  /** Task, running on the current thread. */
+  private static final ThreadLocal<Task<?>> CURRENT = new ThreadLocal<>();
+
+  /** Running tasks. */
+  private final Set<Task<?>> mRunning = ConcurrentHashMap.newKeySet();
+
+  /** Lock, that guards the task count and the shutdown flag. */
+  private final Object mLock = new Object();
+
+  /** Virtual thread factory. */
+  private final ThreadFactory mFactory;
+
+  /** Count of started, but not finished tasks. */
+  private int mTasks = 0;
+
+  /** Shutdown flag. */
+  private boolean mShutdown = false;
+
+  /**
+   * Constructs a new {@link VirtualExecutor}.
+   *
+   * @param factory virtual thread factory
+   */
+  VirtualExecutor(ThreadFactory factory) {mFactory = factory;}
+
+  /**
+   * @param name thread-name prefix
+   *
+   * @return virtual thread factory or null, if the runtime doesn't support virtual threads
+   */
+  static ThreadFactory factory(String name) {
+    try {
+      final Class<?> type = Class.forName("java.lang.Thread$Builder");
+      final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      type.getMethod("name", String.class, long.class).invoke(builder, name + "-", 0L);
+      return (ThreadFactory) type.getMethod("factory").invoke(builder);
+    } catch (ReflectiveOperationException | LinkageError | RuntimeException exception) {
+      return null;
+    }
+  }
+
+  /**
+   * @param hook interrupt hook
+   *
+   * @return true if hook was attached to the current task, otherwise - false
+   */
+  static boolean hook(Runnable hook) {
+    final Task<?> task = CURRENT.get();
+    final boolean result = task != null;
+    if (result) task.mHook = hook; return result;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final <T> RunnableFuture<T> newTaskFor(Callable<T> call)
+  {return new Task<>(call, false);}
+
+  /** {@inheritDoc} */
+  @Override
+  protected final <T> RunnableFuture<T> newTaskFor(Runnable run, T val)
+  {return new Task<>(Executors.callable(run, val), false);}
+
+  /** {@inheritDoc} */
+  @Override
+  public final void execute(Runnable command) {
+    final Task<?> task = command instanceof Task ? (Task<?>) command :
+      new Task<>(Executors.callable(command), true);
+    synchronized (mLock) {
+      if (mShutdown) throw new RejectedExecutionException("Executor already shutdown");
+      mTasks++;
+    }
+    try {mFactory.newThread(task).start();}
+    catch (RuntimeException | Error exception) {finish(); throw exception;}
+  }
+
+  /** Decrements the running task count. */
+  private void finish() {
+    synchronized (mLock) {if (--mTasks == 0) mLock.notifyAll();}
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void shutdown() {
+    synchronized (mLock) {
+      mShutdown = true;
+      if (mTasks == 0) mLock.notifyAll();
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final List<Runnable> shutdownNow() {
+    shutdown();
+    for (Task<?> task : mRunning) task.cancel(true);
+    return new ArrayList<>();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isShutdown() {
+    synchronized (mLock) {return mShutdown;}
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean isTerminated() {
+    synchronized (mLock) {return mShutdown && mTasks == 0;}
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean awaitTermination(long timeout, TimeUnit unit)
+    throws InterruptedException {
+    long nanos = unit.toNanos(timeout);
+    synchronized (mLock) {
+      while (true) {
+        if (mShutdown && mTasks == 0) {return true;}
+        else if (nanos <= 0) {return false;}
+        else {
+          final long now = System.nanoTime();
+          TimeUnit.NANOSECONDS.timedWait(mLock, nanos);
+          nanos -= System.nanoTime() - now;
+        }
+      }
+    }
+  }
+
+  /**
+   * Virtual thread task.
+   *
+   * @param <T> type of result
+   */
+  private final class Task<T> extends FutureTask<T> {
+
+    /** Report failures as uncaught. */
+    private final boolean mUncaught;
+
+    /** Interruption listener. */
+    volatile Runnable mHook = null;
+
+    /**
+     * Constructs a new {@link Task}.
+     *
+     * @param call     callable task
+     * @param uncaught report failures as uncaught
+     */
+    Task(Callable<T> call, boolean uncaught) {super(call); mUncaught = uncaught;}
+
+    /** {@inheritDoc} */
+    @Override
+    public final void run() {
+      mRunning.add(this); CURRENT.set(this);
+      try {super.run();}
+      finally {CURRENT.remove(); mHook = null; mRunning.remove(this); finish();}
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final boolean cancel(boolean interrupt) {
+      if (interrupt && !isDone()) {
+        final Runnable hook = mHook;
+        if (hook != null) {mHook = null; hook.run();}
+      }
+      return super.cancel(interrupt);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void setException(Throwable throwable) {
+      super.setException(throwable);
+      if (!mUncaught) return; final Thread thread = Thread.currentThread();
+      thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+    }
+  }
+}